@@ -0,0 +1,139 @@
+package bg.unisofia.fmi.electronicstore.benchmark;
+
+import bg.unisofia.fmi.electronicstore.ElectronicStoreApplication;
+import bg.unisofia.fmi.electronicstore.dto.request.CreateOrderRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.CreateProductRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.CreateReviewRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.OrderItemRequest;
+import bg.unisofia.fmi.electronicstore.entity.Category;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.repository.CategoryRepository;
+import bg.unisofia.fmi.electronicstore.repository.UserRepository;
+import bg.unisofia.fmi.electronicstore.service.OrderService;
+import bg.unisofia.fmi.electronicstore.service.ProductService;
+import bg.unisofia.fmi.electronicstore.service.ReviewService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class BenchmarkStore implements AutoCloseable {
+
+    private static final int STOCK_PER_PRODUCT = 1_000_000_000;
+    private static final int CATEGORIES = 20;
+
+    private final ConfigurableApplicationContext context;
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+
+    private BenchmarkStore(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static BenchmarkStore start(String stockStrategy, int catalogSize, int reviewsPerProduct, int orders) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ElectronicStoreApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=jdbc:h2:mem:benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.flyway.enabled=false",
+                "store.ratings.rebuild-cron=-",
+                "store.inventory.strategy=" + stockStrategy
+            )
+            .run();
+        BenchmarkStore store = new BenchmarkStore(context);
+        store.seed(catalogSize, reviewsPerProduct, orders);
+        return store;
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Long hotProductId() {
+        return productIds.get(0);
+    }
+
+    Long randomProductId() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+
+    Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    CreateOrderRequest orderFor(Long userId, List<Long> productIds) {
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (Long productId : productIds) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(productId);
+            item.setQuantity(1);
+            items.add(item);
+        }
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(userId);
+        request.setItems(items);
+        return request;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void seed(int catalogSize, int reviewsPerProduct, int orders) {
+        CategoryRepository categoryRepository = bean(CategoryRepository.class);
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setName("Category " + i);
+            categoryIds.add(categoryRepository.save(category).getId());
+        }
+
+        UserRepository userRepository = bean(UserRepository.class);
+        for (int i = 0; i < Math.max(reviewsPerProduct, 10); i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@benchmark.test");
+            user.setPassword("benchmark");
+            user.setFullName("User " + i);
+            userIds.add(userRepository.save(user).getId());
+        }
+
+        ProductService productService = bean(ProductService.class);
+        for (int i = 0; i < catalogSize; i++) {
+            CreateProductRequest request = new CreateProductRequest();
+            request.setName("Product " + i);
+            request.setDescription("Benchmark product number " + i);
+            request.setPrice(BigDecimal.valueOf(10 + i % 990));
+            request.setStockQuantity(STOCK_PER_PRODUCT);
+            request.setCategoryIds(Set.of(categoryIds.get(i % CATEGORIES), categoryIds.get((i + 1) % CATEGORIES)));
+            productIds.add(productService.createProduct(request).getId());
+        }
+
+        ReviewService reviewService = bean(ReviewService.class);
+        for (Long productId : productIds) {
+            for (int i = 0; i < reviewsPerProduct; i++) {
+                CreateReviewRequest request = new CreateReviewRequest();
+                request.setUserId(userIds.get(i));
+                request.setProductId(productId);
+                request.setRating(1 + (int) ((productId + i) % 5));
+                request.setComment("Review " + i);
+                reviewService.createReview(request);
+            }
+        }
+
+        OrderService orderService = bean(OrderService.class);
+        for (int i = 0; i < orders; i++) {
+            orderService.createOrder(orderFor(randomUserId(), List.of(randomProductId())));
+        }
+    }
+}
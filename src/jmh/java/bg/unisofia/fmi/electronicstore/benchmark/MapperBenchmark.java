@@ -0,0 +1,94 @@
+package bg.unisofia.fmi.electronicstore.benchmark;
+
+import bg.unisofia.fmi.electronicstore.dto.response.OrderResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.entity.Category;
+import bg.unisofia.fmi.electronicstore.entity.Order;
+import bg.unisofia.fmi.electronicstore.entity.OrderItem;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.mapper.CategoryMapperImpl;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapper;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapperImpl;
+import bg.unisofia.fmi.electronicstore.mapper.ProductMapper;
+import bg.unisofia.fmi.electronicstore.mapper.ProductMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"3"})
+    public int categoriesPerProduct;
+
+    @Param({"5"})
+    public int itemsPerOrder;
+
+    private AnnotationConfigApplicationContext context;
+    private ProductMapper productMapper;
+    private OrderMapper orderMapper;
+    private Product product;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(ProductMapperImpl.class, CategoryMapperImpl.class, OrderMapperImpl.class);
+        productMapper = context.getBean(ProductMapper.class);
+        orderMapper = context.getBean(OrderMapper.class);
+
+        product = new Product();
+        product.setId(1L);
+        product.setName("Laptop");
+        product.setDescription("A benchmark laptop");
+        product.setPrice(BigDecimal.valueOf(999.99));
+        product.setStockQuantity(10);
+        product.setVersion(1L);
+        product.setCategories(new HashSet<>());
+        for (long i = 0; i < categoriesPerProduct; i++) {
+            Category category = new Category();
+            category.setId(i);
+            category.setName("Category " + i);
+            product.getCategories().add(category);
+        }
+
+        User user = new User();
+        user.setId(1L);
+        user.setFullName("Buyer");
+        order = new Order();
+        order.setId(1L);
+        order.setUser(user);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            OrderItem item = new OrderItem();
+            item.setId((long) i);
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(1 + i);
+            item.setPriceAtPurchase(product.getPrice());
+            order.getItems().add(item);
+        }
+        order.recalculateTotal();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponse productToResponse() {
+        return productMapper.toResponse(product);
+    }
+
+    @Benchmark
+    public OrderResponse orderToResponse() {
+        return orderMapper.toResponse(order);
+    }
+}
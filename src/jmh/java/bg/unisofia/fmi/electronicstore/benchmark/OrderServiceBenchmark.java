@@ -0,0 +1,82 @@
+package bg.unisofia.fmi.electronicstore.benchmark;
+
+import bg.unisofia.fmi.electronicstore.dto.response.OrderResponse;
+import bg.unisofia.fmi.electronicstore.exception.ConcurrentPurchaseException;
+import bg.unisofia.fmi.electronicstore.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    @Param({"reservation", "conditional", "optimistic"})
+    public String stockStrategy;
+
+    @Param({"1000"})
+    public int catalogSize;
+
+    @Param({"0"})
+    public int reviewsPerProduct;
+
+    @Param({"0"})
+    public int orders;
+
+    private BenchmarkStore store;
+    private OrderService orderService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+
+        public long placed;
+
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            placed = 0;
+            conflicts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = BenchmarkStore.start(stockStrategy, catalogSize, reviewsPerProduct, orders);
+        orderService = store.bean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public OrderResponse createOrder(Outcomes outcomes) {
+        return place(store.randomProductId(), outcomes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public OrderResponse createOrderContended(Outcomes outcomes) {
+        return place(store.hotProductId(), outcomes);
+    }
+
+    private OrderResponse place(Long productId, Outcomes outcomes) {
+        try {
+            OrderResponse order = orderService.createOrder(store.orderFor(store.randomUserId(), List.of(productId)));
+            outcomes.placed++;
+            return order;
+        } catch (ConcurrentPurchaseException | ObjectOptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+            return null;
+        }
+    }
+}
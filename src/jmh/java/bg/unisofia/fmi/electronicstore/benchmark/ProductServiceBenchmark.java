@@ -0,0 +1,59 @@
+package bg.unisofia.fmi.electronicstore.benchmark;
+
+import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.service.ProductDetailCache;
+import bg.unisofia.fmi.electronicstore.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductServiceBenchmark {
+
+    @Param({"1000"})
+    public int catalogSize;
+
+    @Param({"5"})
+    public int reviewsPerProduct;
+
+    @Param({"200"})
+    public int orders;
+
+    private BenchmarkStore store;
+    private ProductService productService;
+    private ProductDetailCache productDetailCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = BenchmarkStore.start("reservation", catalogSize, reviewsPerProduct, orders);
+        productService = store.bean(ProductService.class);
+        productDetailCache = store.bean(ProductDetailCache.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.close();
+    }
+
+    @Benchmark
+    public List<ProductResponse> getAllProducts() {
+        return productService.getAllProducts();
+    }
+
+    @Benchmark
+    public ProductResponse getProductById() {
+        return productService.getProductById(store.randomProductId());
+    }
+
+    @Benchmark
+    public ProductResponse getProductByIdUncached() {
+        Long productId = store.randomProductId();
+        productDetailCache.invalidate(productId);
+        return productService.getProductById(productId);
+    }
+}
@@ -0,0 +1,74 @@
+package bg.unisofia.fmi.electronicstore.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+record LoadTestConfig(
+    String target,
+    int rate,
+    int clients,
+    Duration warmup,
+    Duration duration,
+    int products,
+    int users,
+    int hotStock,
+    Map<Operation, Integer> mix,
+    boolean virtualThreads,
+    List<Integer> compareClients,
+    Path report
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            System.getProperty("loadtest.target", ""),
+            Integer.getInteger("loadtest.rate", 200),
+            Integer.getInteger("loadtest.clients", 0),
+            Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 10)),
+            Duration.ofSeconds(Integer.getInteger("loadtest.duration", 60)),
+            Integer.getInteger("loadtest.products", 500),
+            Integer.getInteger("loadtest.users", 50),
+            Integer.getInteger("loadtest.hot-stock", 2000),
+            parseMix(System.getProperty("loadtest.mix",
+                "browse=30,search=15,detail=35,checkout-hot=8,checkout-cold=8,cancel=4")),
+            Boolean.getBoolean("loadtest.virtual-threads"),
+            parseClients(System.getProperty("loadtest.compare", "")),
+            Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"))
+        );
+    }
+
+    boolean embedded() {
+        return target.isBlank();
+    }
+
+    boolean closedLoop() {
+        return clients > 0;
+    }
+
+    LoadTestConfig withClients(int clients, boolean virtualThreads) {
+        return new LoadTestConfig(target, rate, clients, warmup, duration, products, users, hotStock, mix,
+            virtualThreads, List.of(), report);
+    }
+
+    private static List<Integer> parseClients(String clients) {
+        if (clients.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(clients.split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .toList();
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            weights.put(Operation.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,298 @@
+package bg.unisofia.fmi.electronicstore.loadtest;
+
+import bg.unisofia.fmi.electronicstore.ElectronicStoreApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+public final class LoadTestRunner {
+
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final LoadTestConfig config;
+    private final ExecutorService executor;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final Operation[] weightedOperations;
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private LoadTestRunner(LoadTestConfig config, ExecutorService executor) {
+        this.config = config;
+        this.executor = executor;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        this.weightedOperations = config.mix().entrySet().stream()
+            .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+            .toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        if (!config.compareClients().isEmpty()) {
+            compare(config);
+            return;
+        }
+
+        ConfigurableApplicationContext context = config.embedded() ? startEmbedded(config.virtualThreads()) : null;
+        String baseUrl = context != null ? localUrl(context) : config.target();
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            StoreClient client = new StoreClient(baseUrl, executor);
+            client.seed(config.products(), config.users(), config.hotStock());
+            LoadTestRunner runner = new LoadTestRunner(config, executor);
+            runner.run(client);
+            runner.report();
+        } finally {
+            executor.shutdownNow();
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void compare(LoadTestConfig config) throws Exception {
+        if (!config.embedded()) {
+            throw new IllegalArgumentException("loadtest.compare starts its own application, drop loadtest.target");
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            for (int clients : config.compareClients()) {
+                LoadTestConfig runConfig = config.withClients(clients, virtualThreads);
+                ConfigurableApplicationContext context = startEmbedded(virtualThreads);
+                ExecutorService executor = Executors.newCachedThreadPool();
+                ResourceSampler sampler = new ResourceSampler();
+                try {
+                    StoreClient client = new StoreClient(localUrl(context), executor);
+                    client.seed(runConfig.products(), runConfig.users(), runConfig.hotStock());
+                    LoadTestRunner runner = new LoadTestRunner(runConfig, executor);
+                    sampler.start();
+                    runner.run(client);
+                    results.add(runner.summary(sampler.stop()));
+                } finally {
+                    executor.shutdownNow();
+                    context.close();
+                }
+                System.gc();
+            }
+        }
+
+        System.out.printf("%n%-9s %8s %10s %9s %9s %8s %10s %9s%n",
+            "threads", "clients", "req/s", "p50 ms", "p99 ms", "errors", "heap MB", "threads");
+        for (Map<String, Object> result : results) {
+            System.out.printf("%-9s %8d %10.1f %9.2f %9.2f %8d %10d %9d%n",
+                result.get("threads"), result.get("clients"), result.get("throughput"), result.get("p50Ms"),
+                result.get("p99Ms"), result.get("errors"), result.get("peakHeapMb"), result.get("peakThreads"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", config.duration().toMillis() / 1000.0);
+        report.put("stockStrategy", System.getProperty("store.inventory.strategy", "reservation"));
+        report.put("comparison", results);
+        write(config, report);
+    }
+
+    private static ConfigurableApplicationContext startEmbedded(boolean virtualThreads) {
+        return new SpringApplicationBuilder(ElectronicStoreApplication.class)
+            .properties(
+                "server.port=0",
+                "server.tomcat.max-connections=20000",
+                "server.tomcat.accept-count=1000",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "spring.flyway.enabled=false",
+                "store.ratings.rebuild-cron=-"
+            )
+            .run();
+    }
+
+    private static String localUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    private void run(StoreClient client) throws Exception {
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        if (config.closedLoop()) {
+            runClosedLoop(client, measureFrom, end);
+        } else {
+            runOpenLoop(client, start, measureFrom, end);
+        }
+
+        long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void runOpenLoop(StoreClient client, long start, long measureFrom, long end) {
+        // Open loop: every request has an intended start time on a fixed schedule and its latency is
+        // measured from that time, so a stalled server shows up as queueing delay instead of fewer requests.
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = nextOperation();
+            boolean measured = intended >= measureFrom;
+            inFlight.incrementAndGet();
+            client.execute(operation).whenComplete((outcome, error) -> {
+                if (measured) {
+                    stats.get(operation).record(System.nanoTime() - intended, error != null ? Outcome.ERROR : outcome);
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+    }
+
+    private void runClosedLoop(StoreClient client, long measureFrom, long end) throws InterruptedException {
+        // Closed loop: a fixed number of clients, each sending its next request as soon as the previous one
+        // completes. Throughput is whatever the server sustains at that concurrency.
+        CountDownLatch finished = new CountDownLatch(config.clients());
+        for (int i = 0; i < config.clients(); i++) {
+            executor.execute(() -> nextRequest(client, measureFrom, end, finished));
+        }
+        finished.await(end - System.nanoTime() + DRAIN_TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+    }
+
+    private void nextRequest(StoreClient client, long measureFrom, long end, CountDownLatch finished) {
+        long started = System.nanoTime();
+        if (started >= end) {
+            finished.countDown();
+            return;
+        }
+
+        Operation operation = nextOperation();
+        inFlight.incrementAndGet();
+        client.execute(operation).whenCompleteAsync((outcome, error) -> {
+            if (started >= measureFrom) {
+                stats.get(operation).record(System.nanoTime() - started, error != null ? Outcome.ERROR : outcome);
+            }
+            inFlight.decrementAndGet();
+            nextRequest(client, measureFrom, end, finished);
+        }, executor);
+    }
+
+    private Operation nextOperation() {
+        return weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+    }
+
+    private Map<String, Object> summary(ResourceSampler.Peak peak) {
+        double seconds = config.duration().toMillis() / 1000.0;
+        OperationStats total = new OperationStats();
+        stats.values().forEach(total::add);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("threads", config.virtualThreads() ? "virtual" : "platform");
+        summary.put("clients", config.clients());
+        summary.put("throughput", total.count() / seconds);
+        summary.put("p50Ms", total.percentileMillis(50));
+        summary.put("p99Ms", total.percentileMillis(99));
+        summary.put("errors", total.count(Outcome.ERROR));
+        summary.put("peakHeapMb", peak.heapBytes() / (1024 * 1024));
+        summary.put("peakThreads", peak.threads());
+        return summary;
+    }
+
+    private void report() throws Exception {
+        double seconds = config.duration().toMillis() / 1000.0;
+        System.out.printf("%n%-14s %8s %9s %9s %9s %9s %9s %8s %8s %8s %8s%n",
+            "operation", "count", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "ok", "conflict", "no stock", "errors");
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) -> {
+            if (operationStats.count() == 0) {
+                return;
+            }
+            System.out.printf("%-14s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %8d %8d %8d %8d%n",
+                operation.key(),
+                operationStats.count(),
+                operationStats.count() / seconds,
+                operationStats.percentileMillis(50),
+                operationStats.percentileMillis(99),
+                operationStats.percentileMillis(99.9),
+                operationStats.maxMillis(),
+                operationStats.count(Outcome.OK),
+                operationStats.count(Outcome.CONFLICT),
+                operationStats.count(Outcome.OUT_OF_STOCK),
+                operationStats.count(Outcome.ERROR));
+            operations.put(operation.key(), operationStats.toReport(seconds));
+        });
+        if (inFlight.get() > 0) {
+            System.out.printf("%d requests were still in flight and are not included%n", inFlight.get());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        if (config.closedLoop()) {
+            report.put("clients", config.clients());
+        } else {
+            report.put("targetRate", config.rate());
+        }
+        report.put("durationSeconds", seconds);
+        report.put("stockStrategy", System.getProperty("store.inventory.strategy", "reservation"));
+        report.put("virtualThreads", config.virtualThreads());
+        report.put("operations", operations);
+        write(config, report);
+    }
+
+    private static void write(LoadTestConfig config, Map<String, Object> report) throws Exception {
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.report().toFile(), report);
+        System.out.println("Report written to " + config.report().toAbsolutePath());
+    }
+
+    private static final class ResourceSampler {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        private final AtomicLong peakHeap = new AtomicLong();
+
+        record Peak(long heapBytes, int threads) {
+        }
+
+        void start() {
+            threads.resetPeakThreadCount();
+            scheduler.scheduleAtFixedRate(
+                () -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+        }
+
+        Peak stop() {
+            scheduler.shutdownNow();
+            return new Peak(peakHeap.get(), threads.getPeakThreadCount());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package bg.unisofia.fmi.electronicstore.loadtest;
+
+enum Operation {
+    BROWSE("browse"),
+    SEARCH("search"),
+    DETAIL("detail"),
+    CHECKOUT_HOT("checkout-hot"),
+    CHECKOUT_COLD("checkout-cold"),
+    CANCEL("cancel");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in traffic mix: " + key);
+    }
+}
@@ -0,0 +1,66 @@
+package bg.unisofia.fmi.electronicstore.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+final class OperationStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+
+    OperationStats() {
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, new LongAdder());
+        }
+    }
+
+    void record(long latencyNanos, Outcome outcome) {
+        outcomes.get(outcome).increment();
+        if (outcome != Outcome.SKIPPED) {
+            latencies.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        }
+    }
+
+    void add(OperationStats other) {
+        latencies.add(other.latencies);
+        other.outcomes.forEach((outcome, counter) -> outcomes.get(outcome).add(counter.sum()));
+    }
+
+    long count() {
+        return latencies.getTotalCount();
+    }
+
+    long count(Outcome outcome) {
+        return outcomes.get(outcome).sum();
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / 1_000_000.0;
+    }
+
+    Map<String, Object> toReport(double seconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("count", count());
+        report.put("throughput", count() / seconds);
+        report.put("p50Ms", percentileMillis(50));
+        report.put("p99Ms", percentileMillis(99));
+        report.put("p999Ms", percentileMillis(99.9));
+        report.put("maxMs", maxMillis());
+        Map<String, Long> outcomeCounts = new LinkedHashMap<>();
+        outcomes.forEach((outcome, counter) -> outcomeCounts.put(outcome.name(), counter.sum()));
+        report.put("outcomes", outcomeCounts);
+        report.put("conflictRate", count() == 0 ? 0.0 : (double) count(Outcome.CONFLICT) / count());
+        return report;
+    }
+}
@@ -0,0 +1,9 @@
+package bg.unisofia.fmi.electronicstore.loadtest;
+
+enum Outcome {
+    OK,
+    CONFLICT,
+    OUT_OF_STOCK,
+    SKIPPED,
+    ERROR
+}
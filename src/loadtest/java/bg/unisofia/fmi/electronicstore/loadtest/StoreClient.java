@@ -0,0 +1,148 @@
+package bg.unisofia.fmi.electronicstore.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+
+final class StoreClient {
+
+    private static final String[] PRODUCT_KINDS = {"laptop", "phone", "monitor", "keyboard", "headphones"};
+    private static final int COLD_STOCK = 1_000_000;
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Long> productIds = new ArrayList<>();
+    private final List<Long> userIds = new ArrayList<>();
+    private final Queue<Long> placedOrderIds = new ConcurrentLinkedQueue<>();
+    private Long hotProductId;
+
+    StoreClient(String baseUrl, Executor executor) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+            .executor(executor)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    void seed(int products, int users, int hotStock) throws IOException, InterruptedException {
+        for (int i = 0; i < users; i++) {
+            userIds.add(post("/api/users", Map.of(
+                "email", "loadtest" + i + "-" + System.nanoTime() + "@test.com",
+                "password", "loadtest",
+                "fullName", "Load Test " + i
+            )).get("id").asLong());
+        }
+        hotProductId = createProduct("Flash sale " + PRODUCT_KINDS[0], hotStock);
+        for (int i = 1; i < products; i++) {
+            productIds.add(createProduct("Product " + i + " " + PRODUCT_KINDS[i % PRODUCT_KINDS.length], COLD_STOCK));
+        }
+    }
+
+    CompletableFuture<Outcome> execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case BROWSE -> send(get("/api/products/page?size=20"));
+            case SEARCH -> send(get("/api/products/search?name=" + PRODUCT_KINDS[random.nextInt(PRODUCT_KINDS.length)]));
+            case DETAIL -> send(get("/api/products/" + productIds.get(random.nextInt(productIds.size()))));
+            case CHECKOUT_HOT -> checkout(hotProductId);
+            case CHECKOUT_COLD -> checkout(productIds.get(random.nextInt(productIds.size())));
+            case CANCEL -> cancel();
+        };
+    }
+
+    private CompletableFuture<Outcome> checkout(Long productId) {
+        Long userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+        HttpRequest request = json("/api/orders", Map.of(
+            "userId", userId,
+            "items", List.of(Map.of("productId", productId, "quantity", 1))
+        ));
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .thenApply(response -> {
+                Outcome outcome = classify(response);
+                if (outcome == Outcome.OK) {
+                    placedOrderIds.add(readId(response.body()));
+                }
+                return outcome;
+            });
+    }
+
+    private CompletableFuture<Outcome> cancel() {
+        Long orderId = placedOrderIds.poll();
+        if (orderId == null) {
+            return CompletableFuture.completedFuture(Outcome.SKIPPED);
+        }
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + orderId + "/status?status=CANCELLED"))
+            .method("PATCH", HttpRequest.BodyPublishers.noBody())
+            .build());
+    }
+
+    private CompletableFuture<Outcome> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(StoreClient::classify);
+    }
+
+    private static Outcome classify(HttpResponse<String> response) {
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            return Outcome.OK;
+        }
+        if (status == 409) {
+            // Both optimistic lock failures and ConcurrentPurchaseException mention the other buyer.
+            return response.body().contains("another") ? Outcome.CONFLICT : Outcome.OUT_OF_STOCK;
+        }
+        return Outcome.ERROR;
+    }
+
+    private Long createProduct(String name, int stock) throws IOException, InterruptedException {
+        return post("/api/products", Map.of(
+            "name", name,
+            "description", "Load test " + name,
+            "price", 10 + ThreadLocalRandom.current().nextInt(990),
+            "stockQuantity", stock
+        )).get("id").asLong();
+    }
+
+    private JsonNode post(String path, Object body) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(json(path, body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding " + path + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private HttpRequest json(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long readId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
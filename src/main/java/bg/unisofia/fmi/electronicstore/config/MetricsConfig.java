@@ -0,0 +1,23 @@
+package bg.unisofia.fmi.electronicstore.config;
+
+import bg.unisofia.fmi.electronicstore.metrics.StatementMetricsFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public FilterRegistrationBean<StatementMetricsFilter> statementMetricsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${store.sql.statement-budget:20}") int statementBudget,
+            @Value("${store.sql.repeated-statement-threshold:3}") int repeatedStatementThreshold) {
+        FilterRegistrationBean<StatementMetricsFilter> registration = new FilterRegistrationBean<>(
+            new StatementMetricsFilter(meterRegistry, statementBudget, repeatedStatementThreshold));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -1,6 +1,7 @@
 package bg.unisofia.fmi.electronicstore.controller;
 
 import bg.unisofia.fmi.electronicstore.dto.request.CreateCategoryRequest;
+import bg.unisofia.fmi.electronicstore.dto.response.CategoryOverviewResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.CategoryResponse;
 import bg.unisofia.fmi.electronicstore.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,6 +27,12 @@ public class CategoryController {
         return ResponseEntity.ok(categoryService.getAllCategories());
     }
 
+    @GetMapping("/overview")
+    @Operation(summary = "Get all categories with product count, in-stock count and price range")
+    public ResponseEntity<List<CategoryOverviewResponse>> getCategoryOverview() {
+        return ResponseEntity.ok(categoryService.getCategoryOverview());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID")
     public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id) {
@@ -0,0 +1,35 @@
+package bg.unisofia.fmi.electronicstore.controller;
+
+import bg.unisofia.fmi.electronicstore.dto.response.ProductImportResponse;
+import bg.unisofia.fmi.electronicstore.service.ProductImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/import")
+@RequiredArgsConstructor
+@Tag(name = "Import", description = "Streaming bulk import endpoints for catalog onboarding")
+public class ImportController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final ProductImportService productImportService;
+
+    @PostMapping(value = "/products", consumes = TEXT_CSV_VALUE)
+    @Operation(summary = "Import products from CSV with columns name, description, price, stockQuantity, categories")
+    public ResponseEntity<ProductImportResponse> importProductsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.importCsv(body));
+    }
+
+    @PostMapping(value = "/products", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import products from NDJSON, one product per line")
+    public ResponseEntity<ProductImportResponse> importProductsNdjson(InputStream body) throws IOException {
+        return ResponseEntity.ok(productImportService.importNdjson(body));
+    }
+}
@@ -1,16 +1,25 @@
 package bg.unisofia.fmi.electronicstore.controller;
 
+import bg.unisofia.fmi.electronicstore.dto.request.BulkOrderCancelRequest;
 import bg.unisofia.fmi.electronicstore.dto.request.CreateOrderRequest;
+import bg.unisofia.fmi.electronicstore.dto.response.BulkOrderCancelResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.CursorPageResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderIntakeResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.OrderResponse;
 import bg.unisofia.fmi.electronicstore.entity.OrderStatus;
+import bg.unisofia.fmi.electronicstore.service.OrderCancellationService;
+import bg.unisofia.fmi.electronicstore.service.OrderIntakeService;
 import bg.unisofia.fmi.electronicstore.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -20,6 +29,8 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderCancellationService orderCancellationService;
 
     @GetMapping
     @Operation(summary = "Get all orders")
@@ -27,6 +38,17 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of orders, newest first, optionally filtered by status and creation date")
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getOrderPage(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getOrderPage(status, from, to, cursor, size));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
@@ -39,12 +61,34 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrdersByUser(userId));
     }
 
+    @GetMapping("/user/{userId}/page")
+    @Operation(summary = "Get a page of a user's order history, optionally filtered by status and creation date")
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getOrderHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(orderService.getOrderHistory(userId, status, from, to, cursor, size));
+    }
+
     @PostMapping
-    @Operation(summary = "Create new order with concurrent purchase handling")
-    public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+    @Operation(summary = "Create new order with concurrent purchase handling, or queue it when placement is async")
+    public ResponseEntity<?> createOrder(@Valid @RequestBody CreateOrderRequest request) {
+        if (orderIntakeService.isAsyncPlacement()) {
+            OrderIntakeResponse intake = orderIntakeService.enqueue(request);
+            return ResponseEntity.accepted().location(URI.create(intake.getStatusUrl())).body(intake);
+        }
         return ResponseEntity.status(HttpStatus.CREATED).body(orderService.createOrder(request));
     }
 
+    @GetMapping("/intake/{id}")
+    @Operation(summary = "Get the processing status of a queued order")
+    public ResponseEntity<OrderIntakeResponse> getOrderIntake(@PathVariable Long id) {
+        return ResponseEntity.ok(orderIntakeService.getIntake(id));
+    }
+
     @PatchMapping("/{id}/status")
     @Operation(summary = "Update order status")
     public ResponseEntity<OrderResponse> updateOrderStatus(
@@ -52,4 +96,10 @@ public class OrderController {
             @RequestParam OrderStatus status) {
         return ResponseEntity.ok(orderService.updateOrderStatus(id, status));
     }
+
+    @PostMapping("/cancel")
+    @Operation(summary = "Cancel many orders at once and restock their products, with a result for each order")
+    public ResponseEntity<BulkOrderCancelResponse> cancelOrders(@Valid @RequestBody BulkOrderCancelRequest request) {
+        return ResponseEntity.ok(orderCancellationService.cancelOrders(request.getOrderIds()));
+    }
 }
@@ -1,8 +1,17 @@
 package bg.unisofia.fmi.electronicstore.controller;
 
+import bg.unisofia.fmi.electronicstore.dto.request.BulkProductUpdateRequest;
 import bg.unisofia.fmi.electronicstore.dto.request.CreateProductRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.ProductSort;
 import bg.unisofia.fmi.electronicstore.dto.request.UpdateProductRequest;
+import bg.unisofia.fmi.electronicstore.dto.response.BulkProductUpdateResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.CacheStatsResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.CursorPageResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductFilterResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductListingResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductSuggestionResponse;
+import bg.unisofia.fmi.electronicstore.service.ProductBulkUpdateService;
 import bg.unisofia.fmi.electronicstore.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +22,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
@@ -21,6 +31,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductBulkUpdateService productBulkUpdateService;
 
     @GetMapping
     @Operation(summary = "Get all products")
@@ -28,6 +39,33 @@ public class ProductController {
         return ResponseEntity.ok(productService.getAllProducts());
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of products using a continuation cursor")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> getProductPage(
+            @RequestParam(defaultValue = "NEWEST") ProductSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.getProductPage(sort, cursor, size, false));
+    }
+
+    @GetMapping("/filter")
+    @Operation(summary = "Filter products by categories, price range and availability, with facet counts")
+    public ResponseEntity<ProductFilterResponse> filterProducts(
+            @RequestParam(required = false) Set<Long> categoryId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.filterProducts(categoryId, minPrice, maxPrice, inStock, cursor, size));
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get product detail cache statistics")
+    public ResponseEntity<CacheStatsResponse> getProductCacheStats() {
+        return ResponseEntity.ok(productService.getProductCacheStats());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
@@ -35,11 +73,19 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search products by name")
+    @Operation(summary = "Search products by name and description, ranked by relevance")
     public ResponseEntity<List<ProductResponse>> searchByName(@RequestParam String name) {
         return ResponseEntity.ok(productService.searchByName(name));
     }
 
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Suggest product names for a prefix, most sold first")
+    public ResponseEntity<List<ProductSuggestionResponse>> autocomplete(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.autocomplete(prefix, limit));
+    }
+
     @GetMapping("/price-range")
     @Operation(summary = "Find products by price range")
     public ResponseEntity<List<ProductResponse>> findByPriceRange(
@@ -48,6 +94,22 @@ public class ProductController {
         return ResponseEntity.ok(productService.findByPriceRange(minPrice, maxPrice));
     }
 
+    @GetMapping("/listing/price-range")
+    @Operation(summary = "List products by price range from the in-memory catalog snapshot")
+    public ResponseEntity<List<ProductListingResponse>> listByPriceRange(
+            @RequestParam BigDecimal minPrice,
+            @RequestParam BigDecimal maxPrice) {
+        return ResponseEntity.ok(productService.listByPriceRange(minPrice, maxPrice));
+    }
+
+    @GetMapping("/listing/available")
+    @Operation(summary = "List a page of available products, newest first, from the in-memory catalog snapshot")
+    public ResponseEntity<CursorPageResponse<ProductListingResponse>> listAvailable(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.listAvailable(cursor, limit));
+    }
+
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Find products by category")
     public ResponseEntity<List<ProductResponse>> findByCategory(@PathVariable Long categoryId) {
@@ -60,6 +122,15 @@ public class ProductController {
         return ResponseEntity.ok(productService.findAvailable());
     }
 
+    @GetMapping("/available/page")
+    @Operation(summary = "Get a page of available products using a continuation cursor")
+    public ResponseEntity<CursorPageResponse<ProductResponse>> findAvailablePage(
+            @RequestParam(defaultValue = "NEWEST") ProductSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(productService.getProductPage(sort, cursor, size, true));
+    }
+
     @PostMapping
     @Operation(summary = "Create new product")
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody CreateProductRequest request) {
@@ -74,6 +145,12 @@ public class ProductController {
         return ResponseEntity.ok(productService.updateProduct(id, request));
     }
 
+    @PatchMapping
+    @Operation(summary = "Update price and stock of many products, reporting the outcome of each item")
+    public ResponseEntity<BulkProductUpdateResponse> updateProducts(@Valid @RequestBody BulkProductUpdateRequest request) {
+        return ResponseEntity.ok(productBulkUpdateService.updateProducts(request.getItems()));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete product")
     public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
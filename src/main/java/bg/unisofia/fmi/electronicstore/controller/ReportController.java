@@ -0,0 +1,56 @@
+package bg.unisofia.fmi.electronicstore.controller;
+
+import bg.unisofia.fmi.electronicstore.dto.response.HourlySalesResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.SalesBackfillResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.SalesTotalsResponse;
+import bg.unisofia.fmi.electronicstore.service.sales.SalesBackfillService;
+import bg.unisofia.fmi.electronicstore.service.sales.SalesReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports/sales")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "Sales reports served from pre-aggregated rollups")
+public class ReportController {
+
+    private final SalesReportService salesReportService;
+    private final SalesBackfillService salesBackfillService;
+
+    @GetMapping("/products")
+    @Operation(summary = "Get units sold, revenue and order count per product for a date range")
+    public ResponseEntity<List<SalesTotalsResponse>> getProductSales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesReportService.getProductSales(from, to));
+    }
+
+    @GetMapping("/categories")
+    @Operation(summary = "Get units sold, revenue and order count per category for a date range")
+    public ResponseEntity<List<SalesTotalsResponse>> getCategorySales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesReportService.getCategorySales(from, to));
+    }
+
+    @GetMapping("/hourly")
+    @Operation(summary = "Get overall units sold, revenue and order count per hour")
+    public ResponseEntity<List<HourlySalesResponse>> getHourlySales(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(salesReportService.getHourlySales(from, to));
+    }
+
+    @PostMapping("/backfill")
+    @Operation(summary = "Roll up historical orders that are not yet in the sales rollups, in parallel id-range chunks")
+    public ResponseEntity<SalesBackfillResponse> backfill() {
+        return ResponseEntity.ok(salesBackfillService.backfill());
+    }
+}
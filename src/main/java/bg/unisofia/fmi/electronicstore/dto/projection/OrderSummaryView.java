@@ -0,0 +1,20 @@
+package bg.unisofia.fmi.electronicstore.dto.projection;
+
+import bg.unisofia.fmi.electronicstore.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummaryView {
+    private Long id;
+    private Long userId;
+    private String userFullName;
+    private OrderStatus status;
+    private BigDecimal totalAmount;
+    private LocalDateTime createdAt;
+}
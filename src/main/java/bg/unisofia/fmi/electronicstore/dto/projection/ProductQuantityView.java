@@ -0,0 +1,13 @@
+package bg.unisofia.fmi.electronicstore.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductQuantityView {
+    private Long productId;
+    private Long quantity;
+}
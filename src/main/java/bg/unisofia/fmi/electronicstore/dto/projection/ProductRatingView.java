@@ -0,0 +1,19 @@
+package bg.unisofia.fmi.electronicstore.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRatingView {
+    private Long productId;
+    private Long ratingSum;
+    private Long ratingCount;
+    private Long oneStarCount;
+    private Long twoStarCount;
+    private Long threeStarCount;
+    private Long fourStarCount;
+    private Long fiveStarCount;
+}
@@ -0,0 +1,18 @@
+package bg.unisofia.fmi.electronicstore.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesLineView {
+    private Long orderId;
+    private LocalDateTime createdAt;
+    private Long productId;
+    private Integer quantity;
+    private BigDecimal priceAtPurchase;
+}
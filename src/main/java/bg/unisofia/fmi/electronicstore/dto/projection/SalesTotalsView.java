@@ -0,0 +1,16 @@
+package bg.unisofia.fmi.electronicstore.dto.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesTotalsView {
+    private Long id;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    private Long orderCount;
+}
@@ -0,0 +1,14 @@
+package bg.unisofia.fmi.electronicstore.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BulkOrderCancelRequest {
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@NotNull Long> orderIds;
+}
@@ -0,0 +1,15 @@
+package bg.unisofia.fmi.electronicstore.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BulkProductUpdateRequest {
+    @NotEmpty
+    @Size(max = 10000)
+    @Valid
+    private List<ProductUpdateItem> items;
+}
@@ -0,0 +1,29 @@
+package bg.unisofia.fmi.electronicstore.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class ProductImportRow {
+    @NotBlank
+    @Size(max = 255)
+    private String name;
+
+    private String description;
+
+    @NotNull
+    @Positive
+    private BigDecimal price;
+
+    @NotNull
+    @PositiveOrZero
+    private Integer stockQuantity;
+
+    private List<String> categories;
+}
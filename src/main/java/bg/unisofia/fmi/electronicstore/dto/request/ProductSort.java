@@ -0,0 +1,7 @@
+package bg.unisofia.fmi.electronicstore.dto.request;
+
+public enum ProductSort {
+    NEWEST,
+    PRICE_ASC,
+    PRICE_DESC
+}
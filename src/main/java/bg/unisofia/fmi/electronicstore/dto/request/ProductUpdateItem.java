@@ -0,0 +1,21 @@
+package bg.unisofia.fmi.electronicstore.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import java.math.BigDecimal;
+
+@Data
+public class ProductUpdateItem {
+    @NotNull
+    private Long id;
+
+    @Positive
+    private BigDecimal price;
+
+    @PositiveOrZero
+    private Integer stockQuantity;
+
+    private Long expectedVersion;
+}
@@ -0,0 +1,17 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderCancelResponse {
+    private Long cancelled;
+    private Long failed;
+    private Map<Long, Integer> restocked;
+    private List<OrderCancelResult> results;
+}
@@ -0,0 +1,15 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductUpdateResponse {
+    private Long updated;
+    private Long failed;
+    private List<ProductUpdateResult> results;
+}
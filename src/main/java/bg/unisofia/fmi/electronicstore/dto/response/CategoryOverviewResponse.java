@@ -0,0 +1,18 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryOverviewResponse {
+    private Long id;
+    private String name;
+    private Long productCount;
+    private Long inStockCount;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
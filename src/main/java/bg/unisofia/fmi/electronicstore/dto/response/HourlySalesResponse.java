@@ -0,0 +1,17 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HourlySalesResponse {
+    private LocalDateTime hour;
+    private Long unitsSold;
+    private BigDecimal revenue;
+    private Long orderCount;
+}
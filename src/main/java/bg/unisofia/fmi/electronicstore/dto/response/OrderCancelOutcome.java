@@ -0,0 +1,7 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+public enum OrderCancelOutcome {
+    CANCELLED,
+    NOT_FOUND,
+    ALREADY_CANCELLED
+}
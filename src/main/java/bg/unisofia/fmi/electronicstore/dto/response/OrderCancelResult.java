@@ -0,0 +1,14 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCancelResult {
+    private Long id;
+    private OrderCancelOutcome outcome;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import bg.unisofia.fmi.electronicstore.entity.OrderIntakeStatus;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Data
+public class OrderIntakeResponse {
+    private Long id;
+    private OrderIntakeStatus status;
+    private Long orderId;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime processedAt;
+    private String statusUrl;
+}
@@ -0,0 +1,19 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterResponse {
+    private List<ProductResponse> items;
+    private String nextCursor;
+    private Long total;
+    private Map<Long, Long> categoryCounts;
+    private List<PriceBucketCount> priceBuckets;
+    private Long inStockCount;
+}
@@ -0,0 +1,16 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductImportResponse {
+    private Long imported;
+    private Long rejected;
+    private List<ProductImportError> errors;
+    private Boolean errorsTruncated;
+}
@@ -12,6 +12,7 @@ public class ProductResponse {
     private String description;
     private BigDecimal price;
     private Integer stockQuantity;
+    private Long version;
     private LocalDateTime createdAt;
     private Set<CategoryResponse> categories;
     private Double averageRating;
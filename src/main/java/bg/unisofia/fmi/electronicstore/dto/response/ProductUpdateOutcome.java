@@ -0,0 +1,7 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+public enum ProductUpdateOutcome {
+    UPDATED,
+    NOT_FOUND,
+    VERSION_CONFLICT
+}
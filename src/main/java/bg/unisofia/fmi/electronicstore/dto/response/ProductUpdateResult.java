@@ -0,0 +1,15 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductUpdateResult {
+    private Long id;
+    private ProductUpdateOutcome outcome;
+    private Long version;
+    private String message;
+}
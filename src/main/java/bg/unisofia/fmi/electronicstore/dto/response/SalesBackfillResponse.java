@@ -0,0 +1,14 @@
+package bg.unisofia.fmi.electronicstore.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesBackfillResponse {
+    private Long ordersRolledUp;
+    private Integer chunks;
+    private Long elapsedMillis;
+}
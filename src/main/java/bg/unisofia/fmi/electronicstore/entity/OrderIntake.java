@@ -0,0 +1,55 @@
+package bg.unisofia.fmi.electronicstore.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "order_intake")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderIntake {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "shard_key", nullable = false)
+    private Long shardKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderIntakeStatus status = OrderIntakeStatus.QUEUED;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "lost_races", nullable = false)
+    private int lostRaces;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @ElementCollection
+    @CollectionTable(name = "order_intake_items", joinColumns = @JoinColumn(name = "intake_id"))
+    private List<OrderIntakeItem> items = new ArrayList<>();
+}
@@ -0,0 +1,8 @@
+package bg.unisofia.fmi.electronicstore.entity;
+
+public enum OrderIntakeStatus {
+    QUEUED,
+    PLACED,
+    REJECTED,
+    FAILED
+}
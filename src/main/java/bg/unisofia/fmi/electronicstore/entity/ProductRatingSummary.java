@@ -0,0 +1,95 @@
+package bg.unisofia.fmi.electronicstore.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+@Entity
+@Table(name = "product_rating_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRatingSummary implements Persistable<Long> {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum = 0L;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount = 0L;
+
+    @Column(name = "one_star_count", nullable = false)
+    private Long oneStarCount = 0L;
+
+    @Column(name = "two_star_count", nullable = false)
+    private Long twoStarCount = 0L;
+
+    @Column(name = "three_star_count", nullable = false)
+    private Long threeStarCount = 0L;
+
+    @Column(name = "four_star_count", nullable = false)
+    private Long fourStarCount = 0L;
+
+    @Column(name = "five_star_count", nullable = false)
+    private Long fiveStarCount = 0L;
+
+    // The id is the product id and always assigned, so Spring Data cannot tell a new summary from a stored one
+    // and would merge it with an extra SELECT.
+    @Transient
+    private boolean persisted;
+
+    public ProductRatingSummary(Long productId) {
+        this.productId = productId;
+    }
+
+    @Override
+    public Long getId() {
+        return productId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    public Double getAverageRating() {
+        if (ratingCount == 0) {
+            return null;
+        }
+        return (double) ratingSum / ratingCount;
+    }
+
+    public void addRating(int rating) {
+        applyRating(rating, 1);
+    }
+
+    public void removeRating(int rating) {
+        applyRating(rating, -1);
+    }
+
+    private void applyRating(int rating, int delta) {
+        this.ratingSum += (long) rating * delta;
+        this.ratingCount += delta;
+        switch (rating) {
+            case 1 -> this.oneStarCount += delta;
+            case 2 -> this.twoStarCount += delta;
+            case 3 -> this.threeStarCount += delta;
+            case 4 -> this.fourStarCount += delta;
+            case 5 -> this.fiveStarCount += delta;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+    }
+}
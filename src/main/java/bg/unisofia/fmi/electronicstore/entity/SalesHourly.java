@@ -0,0 +1,31 @@
+package bg.unisofia.fmi.electronicstore.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sales_hourly")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesHourly {
+
+    @Id
+    @Column(name = "sales_hour")
+    private LocalDateTime salesHour;
+
+    @Column(name = "units_sold", nullable = false)
+    private Long unitsSold = 0L;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+}
@@ -0,0 +1,22 @@
+package bg.unisofia.fmi.electronicstore.event;
+
+import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+
+    private final Long productId;
+
+    private final ProductResponse product;
+
+    public static ProductChangedEvent deleted(Long productId) {
+        return new ProductChangedEvent(productId, null);
+    }
+
+    public boolean isDeleted() {
+        return product == null;
+    }
+}
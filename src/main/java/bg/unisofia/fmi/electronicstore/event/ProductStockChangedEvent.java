@@ -0,0 +1,12 @@
+package bg.unisofia.fmi.electronicstore.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import java.util.Map;
+
+@Getter
+@RequiredArgsConstructor
+public class ProductStockChangedEvent {
+
+    private final Map<Long, Integer> stockDeltas;
+}
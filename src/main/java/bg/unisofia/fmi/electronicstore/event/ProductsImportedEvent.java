@@ -0,0 +1,13 @@
+package bg.unisofia.fmi.electronicstore.event;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductSearchDocument;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import java.util.List;
+
+@Getter
+@RequiredArgsConstructor
+public class ProductsImportedEvent {
+
+    private final List<ProductSearchDocument> products;
+}
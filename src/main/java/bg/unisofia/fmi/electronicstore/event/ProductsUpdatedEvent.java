@@ -0,0 +1,12 @@
+package bg.unisofia.fmi.electronicstore.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import java.util.Collection;
+
+@Getter
+@RequiredArgsConstructor
+public class ProductsUpdatedEvent {
+
+    private final Collection<Long> productIds;
+}
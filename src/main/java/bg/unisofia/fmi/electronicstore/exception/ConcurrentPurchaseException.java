@@ -1,7 +1,14 @@
 package bg.unisofia.fmi.electronicstore.exception;
 
+import lombok.Getter;
+
+@Getter
 public class ConcurrentPurchaseException extends RuntimeException {
-    public ConcurrentPurchaseException(String message) {
+
+    private final Long productId;
+
+    public ConcurrentPurchaseException(Long productId, String message) {
         super(message);
+        this.productId = productId;
     }
 }
@@ -1,7 +1,14 @@
 package bg.unisofia.fmi.electronicstore.exception;
 
+import lombok.Getter;
+
+@Getter
 public class InsufficientStockException extends RuntimeException {
-    public InsufficientStockException(String productName, int requested, int available) {
+
+    private final Long productId;
+
+    public InsufficientStockException(Long productId, String productName, int requested, int available) {
         super("Not enough stock for " + productName + ". Requested: " + requested + ", Available: " + available);
+        this.productId = productId;
     }
 }
@@ -0,0 +1,7 @@
+package bg.unisofia.fmi.electronicstore.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
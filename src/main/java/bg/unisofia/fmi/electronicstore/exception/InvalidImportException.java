@@ -0,0 +1,7 @@
+package bg.unisofia.fmi.electronicstore.exception;
+
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
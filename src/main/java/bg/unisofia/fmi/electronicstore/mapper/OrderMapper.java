@@ -1,8 +1,12 @@
 package bg.unisofia.fmi.electronicstore.mapper;
 
+import bg.unisofia.fmi.electronicstore.dto.projection.OrderLineView;
+import bg.unisofia.fmi.electronicstore.dto.projection.OrderSummaryView;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderIntakeResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.OrderItemResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.OrderResponse;
 import bg.unisofia.fmi.electronicstore.entity.Order;
+import bg.unisofia.fmi.electronicstore.entity.OrderIntake;
 import bg.unisofia.fmi.electronicstore.entity.OrderItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -17,4 +21,12 @@ public interface OrderMapper {
     @Mapping(source = "product.id", target = "productId")
     @Mapping(source = "product.name", target = "productName")
     OrderItemResponse toOrderItemResponse(OrderItem orderItem);
+
+    @Mapping(target = "items", ignore = true)
+    OrderResponse toResponse(OrderSummaryView summary);
+
+    OrderItemResponse toOrderItemResponse(OrderLineView line);
+
+    @Mapping(target = "statusUrl", ignore = true)
+    OrderIntakeResponse toIntakeResponse(OrderIntake intake);
 }
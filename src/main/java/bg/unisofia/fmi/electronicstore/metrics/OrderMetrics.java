@@ -0,0 +1,80 @@
+package bg.unisofia.fmi.electronicstore.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class OrderMetrics {
+
+    public static final String PHASE_TIMER = "store.orders.create.phase";
+    public static final String STOCK_REJECTIONS = "store.orders.stock.rejections";
+    public static final String OTHER_PRODUCTS = "other";
+
+    private final MeterRegistry meterRegistry;
+
+    // Tagged product ids with the time of their last rejection.
+    private final ConcurrentHashMap<Long, Long> taggedProducts = new ConcurrentHashMap<>();
+
+    @Value("${store.metrics.max-tagged-products:500}")
+    private int maxTaggedProducts = 500;
+
+    @Value("${store.metrics.tagged-product-idle-ms:600000}")
+    private long taggedProductIdleMs = 600000;
+
+    public <T> T timePhase(String phase, Supplier<T> action) {
+        return phaseTimer(phase).record(action);
+    }
+
+    public void recordPhase(String phase, Runnable action) {
+        phaseTimer(phase).record(action);
+    }
+
+    public void stockRejected(Long productId, String reason) {
+        meterRegistry.counter(STOCK_REJECTIONS, "product", productTag(productId), "reason", reason).increment();
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder(PHASE_TIMER)
+            .description("Time spent in each phase of order placement")
+            .tag("phase", phase)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    // Products that stopped being rejected give their slot back, otherwise the first SKUs rejected after
+    // startup would hold the whole tag budget and later sell-outs would only ever show up as "other".
+    @Scheduled(fixedDelayString = "${store.metrics.tagged-product-idle-ms:600000}")
+    public void releaseIdleProducts() {
+        long idleSince = System.currentTimeMillis() - taggedProductIdleMs;
+        taggedProducts.forEach((productId, lastRejectedAt) -> {
+            if (lastRejectedAt <= idleSince && taggedProducts.remove(productId, lastRejectedAt)) {
+                meterRegistry.find(STOCK_REJECTIONS).tag("product", String.valueOf(productId)).counters()
+                    .forEach(meterRegistry::remove);
+            }
+        });
+    }
+
+    private String productTag(Long productId) {
+        // Only SKUs that actually get rejected are tagged, but a sell-out across the whole catalog
+        // must not turn into unbounded series, so anything past the limit is folded together.
+        if (productId == null) {
+            return OTHER_PRODUCTS;
+        }
+        long now = System.currentTimeMillis();
+        if (taggedProducts.computeIfPresent(productId, (id, lastRejectedAt) -> now) != null) {
+            return String.valueOf(productId);
+        }
+        if (taggedProducts.size() < maxTaggedProducts) {
+            taggedProducts.putIfAbsent(productId, now);
+            return String.valueOf(productId);
+        }
+        return OTHER_PRODUCTS;
+    }
+}
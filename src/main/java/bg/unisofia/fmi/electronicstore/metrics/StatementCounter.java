@@ -0,0 +1,43 @@
+package bg.unisofia.fmi.electronicstore.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<StatementLog>> ACTIVE = new ThreadLocal<>();
+
+    public static StatementLog open() {
+        StatementLog log = new StatementLog();
+        List<StatementLog> active = ACTIVE.get();
+        if (active == null) {
+            active = new ArrayList<>();
+            ACTIVE.set(active);
+        }
+        active.add(log);
+        return log;
+    }
+
+    public static void close(StatementLog log) {
+        List<StatementLog> active = ACTIVE.get();
+        if (active == null) {
+            return;
+        }
+        active.remove(log);
+        if (active.isEmpty()) {
+            ACTIVE.remove();
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<StatementLog> active = ACTIVE.get();
+        if (active != null) {
+            for (StatementLog log : active) {
+                log.record(sql);
+            }
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,44 @@
+package bg.unisofia.fmi.electronicstore.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class StatementLog {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern NUMBER = Pattern.compile("\\b\\d+\\b");
+
+    private int count;
+    private final Map<String, Integer> shapes = new LinkedHashMap<>();
+
+    void record(String sql) {
+        count++;
+        shapes.merge(shapeOf(sql), 1, Integer::sum);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Map<String, Integer> getShapes() {
+        return shapes;
+    }
+
+    public Map<String, Integer> repeatedShapes(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((shape, occurrences) -> {
+            if (occurrences >= threshold) {
+                repeated.put(shape, occurrences);
+            }
+        });
+        return repeated;
+    }
+
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        return NUMBER.matcher(shape).replaceAll("?");
+    }
+}
@@ -0,0 +1,63 @@
+package bg.unisofia.fmi.electronicstore.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.util.Map;
+
+@Slf4j
+@RequiredArgsConstructor
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_PER_REQUEST = "store.hibernate.statements";
+    public static final String OVER_BUDGET = "store.hibernate.statements.over.budget";
+    public static final String REPEATED_STATEMENTS = "store.hibernate.statements.repeated";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final int repeatedShapeThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementLog statements = StatementCounter.open();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StatementCounter.close(statements);
+            record(request, statements);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementLog statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder(STATEMENTS_PER_REQUEST)
+            .description("SQL statements prepared while handling a request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(statements.getCount());
+
+        if (statements.getCount() > statementBudget) {
+            meterRegistry.counter(OVER_BUDGET, "method", request.getMethod(), "uri", uri).increment();
+            log.warn("{} {} prepared {} SQL statements, over the budget of {}",
+                request.getMethod(), request.getRequestURI(), statements.getCount(), statementBudget);
+        }
+
+        Map<String, Integer> repeated = statements.repeatedShapes(repeatedShapeThreshold);
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter(REPEATED_STATEMENTS, "method", request.getMethod(), "uri", uri).increment();
+            repeated.forEach((shape, occurrences) -> log.warn("{} {} ran the same statement {} times, likely N+1: {}",
+                request.getMethod(), request.getRequestURI(), occurrences, shape));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package bg.unisofia.fmi.electronicstore.repository;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.SalesTotalsView;
+import bg.unisofia.fmi.electronicstore.entity.CategorySalesDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CategorySalesDailyRepository extends JpaRepository<CategorySalesDaily, CategorySalesDaily.Key> {
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.SalesTotalsView(" +
+           "s.categoryId, SUM(s.unitsSold), SUM(s.revenue), SUM(s.orderCount)) FROM CategorySalesDaily s " +
+           "WHERE s.salesDate BETWEEN :from AND :to GROUP BY s.categoryId ORDER BY SUM(s.revenue) DESC, s.categoryId")
+    List<SalesTotalsView> sumBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
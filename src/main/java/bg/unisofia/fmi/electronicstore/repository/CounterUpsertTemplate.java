@@ -0,0 +1,66 @@
+package bg.unisofia.fmi.electronicstore.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Repository
+public class CounterUpsertTemplate {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public CounterUpsertTemplate(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    public void add(String table, List<String> keyColumns, List<String> counterColumns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(keyColumns);
+        columns.addAll(counterColumns);
+        String insert = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+            + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+        String increments = counterColumns.stream()
+            .map(column -> column + " = " + table + "." + column + " + EXCLUDED." + column)
+            .collect(Collectors.joining(", "));
+
+        if (postgres) {
+            jdbcTemplate.batchUpdate(insert + " ON CONFLICT (" + String.join(", ", keyColumns) + ") DO UPDATE SET "
+                + increments, rows);
+            return;
+        }
+
+        // H2 has no ON CONFLICT ... DO UPDATE. It only backs the tests and the embedded benchmarks, so there the
+        // counters are updated first and the missing rows inserted, which is not safe against concurrent inserts.
+        String update = "UPDATE " + table + " SET "
+            + counterColumns.stream().map(column -> column + " = " + column + " + ?").collect(Collectors.joining(", "))
+            + " WHERE " + keyColumns.stream().map(column -> column + " = ?").collect(Collectors.joining(" AND "));
+        List<Object[]> updates = rows.stream().map(row -> countersFirst(row, keyColumns.size())).toList();
+        int[] updated = jdbcTemplate.batchUpdate(update, updates);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] == 0) {
+                missing.add(rows.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, missing);
+        }
+    }
+
+    private static Object[] countersFirst(Object[] row, int keyCount) {
+        Object[] reordered = new Object[row.length];
+        System.arraycopy(row, keyCount, reordered, 0, row.length - keyCount);
+        System.arraycopy(row, 0, reordered, row.length - keyCount, keyCount);
+        return reordered;
+    }
+}
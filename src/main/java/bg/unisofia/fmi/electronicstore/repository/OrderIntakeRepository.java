@@ -0,0 +1,30 @@
+package bg.unisofia.fmi.electronicstore.repository;
+
+import bg.unisofia.fmi.electronicstore.entity.OrderIntake;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderIntakeRepository extends JpaRepository<OrderIntake, Long> {
+
+    @Query("SELECT i.id FROM OrderIntake i " +
+           "WHERE i.status = bg.unisofia.fmi.electronicstore.entity.OrderIntakeStatus.QUEUED " +
+           "AND MOD(i.shardKey, :shards) = :shard ORDER BY i.id")
+    List<Long> findQueuedIds(@Param("shards") int shards, @Param("shard") int shard, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT i FROM OrderIntake i " +
+           "WHERE i.id = :id AND i.status = bg.unisofia.fmi.electronicstore.entity.OrderIntakeStatus.QUEUED")
+    Optional<OrderIntake> findQueuedForUpdate(@Param("id") Long id);
+}
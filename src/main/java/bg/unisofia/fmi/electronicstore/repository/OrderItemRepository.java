@@ -1,12 +1,43 @@
 package bg.unisofia.fmi.electronicstore.repository;
 
+import bg.unisofia.fmi.electronicstore.dto.projection.OrderLineView;
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductQuantityView;
+import bg.unisofia.fmi.electronicstore.dto.projection.SalesLineView;
+import bg.unisofia.fmi.electronicstore.dto.projection.StockLedgerEntry;
 import bg.unisofia.fmi.electronicstore.entity.OrderItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
     List<OrderItem> findByProductId(Long productId);
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.OrderLineView(" +
+           "oi.order.id, oi.id, p.id, p.name, oi.quantity, oi.priceAtPurchase) " +
+           "FROM OrderItem oi JOIN oi.product p WHERE oi.order.id IN :orderIds ORDER BY oi.order.id, oi.id")
+    List<OrderLineView> findLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.SalesLineView(" +
+           "o.id, o.createdAt, oi.product.id, oi.quantity, oi.priceAtPurchase) " +
+           "FROM OrderItem oi JOIN oi.order o WHERE o.id IN :orderIds")
+    List<SalesLineView> findSalesLinesByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.ProductQuantityView(oi.product.id, SUM(oi.quantity)) " +
+           "FROM OrderItem oi GROUP BY oi.product.id")
+    List<ProductQuantityView> sumQuantityByProduct();
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.StockLedgerEntry(oi.id, oi.product.id, oi.quantity) " +
+           "FROM OrderItem oi WHERE oi.stockApplied = false ORDER BY oi.id")
+    List<StockLedgerEntry> findUnappliedStock(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OrderItem oi SET oi.stockApplied = true WHERE oi.id IN :ids AND oi.stockApplied = false")
+    int markStockApplied(@Param("ids") Collection<Long> ids);
 }
@@ -1,14 +1,126 @@
 package bg.unisofia.fmi.electronicstore.repository;
 
+import bg.unisofia.fmi.electronicstore.dto.projection.OrderSummaryView;
 import bg.unisofia.fmi.electronicstore.entity.Order;
 import bg.unisofia.fmi.electronicstore.entity.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
     List<Order> findByStatus(OrderStatus status);
     List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
+
+    String SUMMARY = "SELECT new bg.unisofia.fmi.electronicstore.dto.projection.OrderSummaryView(" +
+                     "o.id, u.id, u.fullName, o.status, o.totalAmount, o.createdAt) FROM Order o JOIN o.user u ";
+    String CREATED_BETWEEN = "o.createdAt >= :from AND o.createdAt < :to ";
+    String BEFORE_CURSOR = "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) ";
+    String NEWEST_FIRST = "ORDER BY o.createdAt DESC, o.id DESC";
+
+    @Query(SUMMARY + "ORDER BY o.id")
+    List<OrderSummaryView> findAllSummaries();
+
+    @Query(SUMMARY + "WHERE o.id = :id")
+    Optional<OrderSummaryView> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY + "WHERE o.user.id = :userId ORDER BY o.id")
+    List<OrderSummaryView> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query(SUMMARY + "WHERE o.user.id = :userId AND " + CREATED_BETWEEN + NEWEST_FIRST)
+    List<OrderSummaryView> findUserHistory(@Param("userId") Long userId,
+                                           @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                           Pageable pageable);
+
+    @Query(SUMMARY + "WHERE o.user.id = :userId AND " + CREATED_BETWEEN + BEFORE_CURSOR + NEWEST_FIRST)
+    List<OrderSummaryView> findUserHistoryAfter(@Param("userId") Long userId,
+                                                @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                Pageable pageable);
+
+    @Query(SUMMARY + "WHERE o.user.id = :userId AND o.status = :status AND " + CREATED_BETWEEN + NEWEST_FIRST)
+    List<OrderSummaryView> findUserHistoryByStatus(@Param("userId") Long userId, @Param("status") OrderStatus status,
+                                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY + "WHERE o.user.id = :userId AND o.status = :status AND " +
+           CREATED_BETWEEN + BEFORE_CURSOR + NEWEST_FIRST)
+    List<OrderSummaryView> findUserHistoryByStatusAfter(@Param("userId") Long userId,
+                                                        @Param("status") OrderStatus status,
+                                                        @Param("from") LocalDateTime from,
+                                                        @Param("to") LocalDateTime to,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") Long id, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE " + CREATED_BETWEEN + NEWEST_FIRST)
+    List<OrderSummaryView> findNewestFirst(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                           Pageable pageable);
+
+    @Query(SUMMARY + "WHERE " + CREATED_BETWEEN + BEFORE_CURSOR + NEWEST_FIRST)
+    List<OrderSummaryView> findNewestFirstAfter(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                Pageable pageable);
+
+    @Query(SUMMARY + "WHERE o.status = :status AND " + CREATED_BETWEEN + NEWEST_FIRST)
+    List<OrderSummaryView> findNewestFirstByStatus(@Param("status") OrderStatus status,
+                                                   @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY + "WHERE o.status = :status AND " + CREATED_BETWEEN + BEFORE_CURSOR + NEWEST_FIRST)
+    List<OrderSummaryView> findNewestFirstByStatusAfter(@Param("status") OrderStatus status,
+                                                        @Param("from") LocalDateTime from,
+                                                        @Param("to") LocalDateTime to,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o FROM Order o JOIN FETCH o.user " +
+           "WHERE o.createdAt >= :from AND o.createdAt < :to ORDER BY o.id")
+    Stream<Order> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT o FROM Order o JOIN FETCH o.user " +
+           "WHERE o.status = :status AND o.createdAt >= :from AND o.createdAt < :to ORDER BY o.id")
+    Stream<Order> streamForExportByStatus(@Param("status") OrderStatus status,
+                                          @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    String ROLLUP_PENDING = "o.rolledUp = false AND o.status <> bg.unisofia.fmi.electronicstore.entity.OrderStatus.CANCELLED ";
+
+    @Query("SELECT o.id FROM Order o WHERE " + ROLLUP_PENDING + "ORDER BY o.id DESC")
+    List<Long> findRollupPendingIds(Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE " + ROLLUP_PENDING + "AND o.id BETWEEN :from AND :to ORDER BY o.id")
+    List<Long> findRollupPendingIdsBetween(@Param("from") Long from, @Param("to") Long to, Pageable pageable);
+
+    @Query("SELECT MIN(o.id) FROM Order o WHERE " + ROLLUP_PENDING)
+    Long findMinRollupPendingId();
+
+    @Query("SELECT MAX(o.id) FROM Order o WHERE " + ROLLUP_PENDING)
+    Long findMaxRollupPendingId();
+
+    @Query("SELECT o.id FROM Order o WHERE o.rolledUp = true " +
+           "AND o.status = bg.unisofia.fmi.electronicstore.entity.OrderStatus.CANCELLED ORDER BY o.id")
+    List<Long> findCancelledRolledUpIds(Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE orders SET rolled_up = TRUE WHERE id IN (:ids) AND rolled_up = FALSE AND status <> 'CANCELLED'",
+           nativeQuery = true)
+    int markRolledUp(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE orders SET rolled_up = FALSE WHERE id IN (:ids) AND rolled_up = TRUE AND status = 'CANCELLED'",
+           nativeQuery = true)
+    int markRolledBack(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,24 @@
+package bg.unisofia.fmi.electronicstore.repository;
+
+import bg.unisofia.fmi.electronicstore.entity.ProductRatingSummary;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductRatingSummaryRepository extends JpaRepository<ProductRatingSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductRatingSummary s WHERE s.productId = :productId")
+    Optional<ProductRatingSummary> findByIdForUpdate(@Param("productId") Long productId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductRatingSummary s WHERE s.productId IN :productIds")
+    List<ProductRatingSummary> findAllByIdForUpdate(@Param("productIds") Collection<Long> productIds);
+}
@@ -1,27 +1,127 @@
 package bg.unisofia.fmi.electronicstore.repository;
 
+import bg.unisofia.fmi.electronicstore.dto.projection.CatalogRowView;
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductCategoryFactsView;
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductSearchDocument;
 import bg.unisofia.fmi.electronicstore.entity.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    long countByIdIn(Collection<Long> ids);
 
-    List<Product> findByNameContainingIgnoreCase(String name);
+    @Override
+    @EntityGraph(attributePaths = "categories")
+    List<Product> findAll();
 
+    @Override
+    @EntityGraph(attributePaths = "categories")
+    List<Product> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "categories")
+    Optional<Product> findWithCategoriesById(Long id);
+
+    List<Product> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = "categories")
     @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice")
     List<Product> findByPriceRange(@Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice);
 
+    @EntityGraph(attributePaths = "categories")
     @Query("SELECT p FROM Product p JOIN p.categories c WHERE c.id = :categoryId")
     List<Product> findByCategoryId(@Param("categoryId") Long categoryId);
 
+    @EntityGraph(attributePaths = "categories")
     @Query("SELECT p FROM Product p WHERE p.stockQuantity > 0 ORDER BY p.createdAt DESC")
     List<Product> findAvailableProducts();
 
+    @Query("SELECT p FROM Product p WHERE p.stockQuantity >= :minStock ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findNewestFirst(@Param("minStock") int minStock, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.stockQuantity >= :minStock " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Product> findNewestFirstAfter(@Param("minStock") int minStock, @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.stockQuantity >= :minStock ORDER BY p.price ASC, p.id ASC")
+    List<Product> findCheapestFirst(@Param("minStock") int minStock, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.stockQuantity >= :minStock " +
+           "AND (p.price > :price OR (p.price = :price AND p.id > :id)) " +
+           "ORDER BY p.price ASC, p.id ASC")
+    List<Product> findCheapestFirstAfter(@Param("minStock") int minStock, @Param("price") BigDecimal price,
+                                         @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.stockQuantity >= :minStock ORDER BY p.price DESC, p.id DESC")
+    List<Product> findMostExpensiveFirst(@Param("minStock") int minStock, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.stockQuantity >= :minStock " +
+           "AND (p.price < :price OR (p.price = :price AND p.id < :id)) " +
+           "ORDER BY p.price DESC, p.id DESC")
+    List<Product> findMostExpensiveFirstAfter(@Param("minStock") int minStock, @Param("price") BigDecimal price,
+                                              @Param("id") Long id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Product p " +
+           "WHERE p.createdAt >= :from AND p.createdAt < :to ORDER BY p.id")
+    Stream<Product> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.ProductSearchDocument(p.id, p.name, p.description) " +
+           "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductSearchDocument> findSearchDocumentsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM products p WHERE p.search_vector @@ to_tsquery('simple', :query) " +
+                   "ORDER BY ts_rank(p.search_vector, to_tsquery('simple', :query)) DESC, p.id LIMIT :limit",
+           nativeQuery = true)
+    List<Long> searchFullText(@Param("query") String query, @Param("limit") int limit);
+
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.product.id = :productId")
     Double getAverageRating(@Param("productId") Long productId);
+
+    @Query("SELECT p.stockQuantity - COALESCE((SELECT SUM(oi.quantity) FROM OrderItem oi " +
+           "WHERE oi.product.id = p.id AND oi.stockApplied = false), 0) FROM Product p WHERE p.id = :id")
+    Optional<Long> findAvailableStock(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.version = p.version + 1 " +
+           "WHERE p.id = :id AND p.stockQuantity >= :quantity")
+    int decrementStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :delta, p.version = p.version + 1 WHERE p.id = :id")
+    int adjustStock(@Param("id") Long id, @Param("delta") int delta);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Stock is reported as available stock, net of reserved order items the inventory flusher has not applied yet.
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.ProductCategoryFactsView(" +
+           "p.id, p.price, CAST(p.stockQuantity - COALESCE((SELECT SUM(oi.quantity) FROM OrderItem oi " +
+           "WHERE oi.product.id = p.id AND oi.stockApplied = false), 0) AS Integer), c.id) " +
+           "FROM Product p LEFT JOIN p.categories c WHERE p.id IN :ids")
+    List<ProductCategoryFactsView> findCategoryFactsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.CatalogRowView(" +
+           "p.id, p.name, p.price, p.stockQuantity, p.createdAt) FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<CatalogRowView> findCatalogRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.CatalogRowView(" +
+           "p.id, p.name, p.price, p.stockQuantity, p.createdAt) FROM Product p WHERE p.id IN :ids")
+    List<CatalogRowView> findCatalogRowsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,19 @@
+package bg.unisofia.fmi.electronicstore.repository;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.SalesTotalsView;
+import bg.unisofia.fmi.electronicstore.entity.ProductSalesDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProductSalesDailyRepository extends JpaRepository<ProductSalesDaily, ProductSalesDaily.Key> {
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.SalesTotalsView(" +
+           "s.productId, SUM(s.unitsSold), SUM(s.revenue), SUM(s.orderCount)) FROM ProductSalesDaily s " +
+           "WHERE s.salesDate BETWEEN :from AND :to GROUP BY s.productId ORDER BY SUM(s.revenue) DESC, s.productId")
+    List<SalesTotalsView> sumBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
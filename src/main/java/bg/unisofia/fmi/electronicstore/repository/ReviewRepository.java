@@ -1,10 +1,19 @@
 package bg.unisofia.fmi.electronicstore.repository;
 
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductRatingView;
 import bg.unisofia.fmi.electronicstore.entity.Review;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
@@ -12,4 +21,19 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByUserId(Long userId);
     Optional<Review> findByUserIdAndProductId(Long userId, Long productId);
     boolean existsByUserIdAndProductId(Long userId, Long productId);
+
+    @Query("SELECT new bg.unisofia.fmi.electronicstore.dto.projection.ProductRatingView(r.product.id, " +
+           "SUM(r.rating), COUNT(r), " +
+           "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END)) " +
+           "FROM Review r WHERE r.product.id IN :productIds GROUP BY r.product.id")
+    List<ProductRatingView> summarizeByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.product " +
+           "WHERE r.createdAt >= :from AND r.createdAt < :to ORDER BY r.id")
+    Stream<Review> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
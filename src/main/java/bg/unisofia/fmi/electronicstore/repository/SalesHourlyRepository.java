@@ -0,0 +1,16 @@
+package bg.unisofia.fmi.electronicstore.repository;
+
+import bg.unisofia.fmi.electronicstore.entity.SalesHourly;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SalesHourlyRepository extends JpaRepository<SalesHourly, LocalDateTime> {
+
+    @Query("SELECT s FROM SalesHourly s WHERE s.salesHour >= :from AND s.salesHour < :to ORDER BY s.salesHour")
+    List<SalesHourly> findBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
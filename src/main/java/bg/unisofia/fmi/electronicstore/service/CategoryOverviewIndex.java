@@ -0,0 +1,194 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductCategoryFactsView;
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductSearchDocument;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsImportedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsUpdatedEvent;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryOverviewIndex {
+
+    private static final Stats EMPTY = new Stats(0, 0, null, null);
+
+    private final ProductRepository productRepository;
+
+    private final Map<Long, ProductFacts> products = new HashMap<>();
+    private final Map<Long, CategoryStats> categories = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${store.search.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize = 1000;
+
+    public record Stats(long productCount, long inStockCount, BigDecimal minPrice, BigDecimal maxPrice) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long afterId = 0L;
+        while (true) {
+            List<Long> productIds = productRepository.findIdsAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+            if (productIds.isEmpty()) {
+                break;
+            }
+            refresh(productIds);
+            afterId = productIds.get(productIds.size() - 1);
+        }
+        log.info("Loaded category statistics for {} products in {} categories", products.size(), categories.size());
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getProductId());
+            return;
+        }
+        // The event carries the raw stock column, which still includes reservations the flusher has not applied.
+        refresh(List.of(event.getProductId()));
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        event.getStockDeltas().forEach(this::adjustStock);
+    }
+
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        refresh(event.getProducts().stream().map(ProductSearchDocument::getId).collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener
+    public void onProductsUpdated(ProductsUpdatedEvent event) {
+        refresh(event.getProductIds());
+    }
+
+    public Stats stats(Long categoryId) {
+        lock.readLock().lock();
+        try {
+            CategoryStats stats = categories.get(categoryId);
+            if (stats == null || stats.prices.isEmpty()) {
+                return EMPTY;
+            }
+            return new Stats(stats.productCount, stats.inStockCount, stats.prices.firstKey(), stats.prices.lastKey());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long productId, BigDecimal price, int stockQuantity, Set<Long> categoryIds) {
+        lock.writeLock().lock();
+        try {
+            putLocked(productId, new ProductFacts(price, stockQuantity, Set.copyOf(categoryIds)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            ProductFacts previous = products.remove(productId);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void adjustStock(Long productId, int delta) {
+        lock.writeLock().lock();
+        try {
+            ProductFacts current = products.get(productId);
+            if (current != null) {
+                putLocked(productId, new ProductFacts(current.price(), current.stockQuantity() + delta, current.categoryIds()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void refresh(Collection<Long> productIds) {
+        Map<Long, ProductFacts> loaded = new LinkedHashMap<>();
+        for (ProductCategoryFactsView row : productRepository.findCategoryFactsByIds(productIds)) {
+            ProductFacts facts = loaded.computeIfAbsent(row.getProductId(),
+                id -> new ProductFacts(row.getPrice(), row.getStockQuantity(), new HashSet<>()));
+            if (row.getCategoryId() != null) {
+                facts.categoryIds().add(row.getCategoryId());
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Long productId : productIds) {
+                ProductFacts facts = loaded.get(productId);
+                if (facts != null) {
+                    putLocked(productId, facts);
+                } else {
+                    ProductFacts previous = products.remove(productId);
+                    if (previous != null) {
+                        apply(previous, -1);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Long productId, ProductFacts facts) {
+        ProductFacts previous = products.put(productId, facts);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        apply(facts, 1);
+    }
+
+    private void apply(ProductFacts facts, int sign) {
+        for (Long categoryId : facts.categoryIds()) {
+            CategoryStats stats = categories.computeIfAbsent(categoryId, id -> new CategoryStats());
+            stats.productCount += sign;
+            if (facts.stockQuantity() > 0) {
+                stats.inStockCount += sign;
+            }
+            stats.prices.merge(facts.price(), sign, (count, change) -> count + change == 0 ? null : count + change);
+            if (stats.productCount == 0) {
+                categories.remove(categoryId);
+            }
+        }
+    }
+
+    private record ProductFacts(BigDecimal price, int stockQuantity, Set<Long> categoryIds) {
+    }
+
+    private static final class CategoryStats {
+
+        private long productCount;
+        private long inStockCount;
+        private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+    }
+}
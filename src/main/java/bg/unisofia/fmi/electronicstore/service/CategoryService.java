@@ -1,6 +1,7 @@
 package bg.unisofia.fmi.electronicstore.service;
 
 import bg.unisofia.fmi.electronicstore.dto.request.CreateCategoryRequest;
+import bg.unisofia.fmi.electronicstore.dto.response.CategoryOverviewResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.CategoryResponse;
 import bg.unisofia.fmi.electronicstore.entity.Category;
 import bg.unisofia.fmi.electronicstore.exception.DuplicateResourceException;
@@ -19,6 +20,7 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CategoryOverviewIndex categoryOverviewIndex;
 
     @Transactional(readOnly = true)
     public List<CategoryResponse> getAllCategories() {
@@ -27,6 +29,17 @@ public class CategoryService {
             .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<CategoryOverviewResponse> getCategoryOverview() {
+        return categoryRepository.findAll().stream()
+            .map(category -> {
+                CategoryOverviewIndex.Stats stats = categoryOverviewIndex.stats(category.getId());
+                return new CategoryOverviewResponse(category.getId(), category.getName(), stats.productCount(),
+                    stats.inStockCount(), stats.minPrice(), stats.maxPrice());
+            })
+            .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public CategoryResponse getCategoryById(Long id) {
         Category category = categoryRepository.findById(id)
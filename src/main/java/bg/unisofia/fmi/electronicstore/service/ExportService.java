@@ -0,0 +1,94 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.entity.Order;
+import bg.unisofia.fmi.electronicstore.entity.OrderStatus;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.Review;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapper;
+import bg.unisofia.fmi.electronicstore.mapper.ReviewMapper;
+import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.repository.ReviewRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final ProductResponseAssembler productResponseAssembler;
+    private final OrderMapper orderMapper;
+    private final ReviewMapper reviewMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Value("${store.export.chunk-size:500}")
+    private int chunkSize;
+
+    @Transactional(readOnly = true)
+    public void exportOrders(OrderStatus status, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        try (Stream<Order> orders = status != null
+                ? orderRepository.streamForExportByStatus(status, lowerBound(from), upperBound(to))
+                : orderRepository.streamForExport(lowerBound(from), upperBound(to))) {
+            writeInChunks(orders, chunk -> chunk.stream().map(orderMapper::toResponse).collect(Collectors.toList()), out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportProducts(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        try (Stream<Product> products = productRepository.streamForExport(lowerBound(from), upperBound(to))) {
+            writeInChunks(products, productResponseAssembler::toResponses, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportReviews(LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        try (Stream<Review> reviews = reviewRepository.streamForExport(lowerBound(from), upperBound(to))) {
+            writeInChunks(reviews, chunk -> chunk.stream().map(reviewMapper::toResponse).collect(Collectors.toList()), out);
+        }
+    }
+
+    private static LocalDateTime lowerBound(LocalDateTime from) {
+        return from != null ? from : EARLIEST;
+    }
+
+    private static LocalDateTime upperBound(LocalDateTime to) {
+        return to != null ? to : LATEST;
+    }
+
+    private <E> void writeInChunks(Stream<E> rows, Function<List<E>, List<?>> mapper, OutputStream out) throws IOException {
+        List<E> chunk = new ArrayList<>(chunkSize);
+        Iterator<E> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                for (Object line : mapper.apply(chunk)) {
+                    out.write(objectMapper.writeValueAsBytes(line));
+                    out.write('\n');
+                }
+                out.flush();
+                chunk.clear();
+                entityManager.clear();
+            }
+        }
+    }
+}
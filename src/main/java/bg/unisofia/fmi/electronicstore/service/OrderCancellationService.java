@@ -0,0 +1,97 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.response.BulkOrderCancelResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderCancelOutcome;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderCancelResult;
+import bg.unisofia.fmi.electronicstore.entity.OrderStatus;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import bg.unisofia.fmi.electronicstore.service.inventory.StockStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+@Service
+@RequiredArgsConstructor
+public class OrderCancellationService {
+
+    private static final String LOCK_ORDERS = "SELECT id, status FROM orders WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+    private static final String CANCEL_ORDERS = "UPDATE orders SET status = 'CANCELLED' WHERE id IN (:ids)";
+    private static final String SUM_QUANTITIES = "SELECT product_id, SUM(quantity) AS quantity FROM order_items " +
+        "WHERE order_id IN (:ids) GROUP BY product_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StockStrategy stockStrategy;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${store.orders.bulk-cancel.chunk-size:500}")
+    private int chunkSize;
+
+    public BulkOrderCancelResponse cancelOrders(List<Long> orderIds) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(orderIds));
+        List<OrderCancelResult> results = new ArrayList<>(distinctIds.size());
+        Map<Long, Integer> restocked = new TreeMap<>();
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(distinctIds.size(), from + chunkSize));
+            results.addAll(transactionTemplate.execute(status -> cancelChunk(chunk, restocked)));
+        }
+
+        long cancelled = results.stream()
+            .filter(result -> result.getOutcome() == OrderCancelOutcome.CANCELLED)
+            .count();
+        return new BulkOrderCancelResponse(cancelled, results.size() - cancelled, restocked, results);
+    }
+
+    private List<OrderCancelResult> cancelChunk(List<Long> chunk, Map<Long, Integer> restocked) {
+        Map<Long, String> statuses = new HashMap<>();
+        jdbcTemplate.query(LOCK_ORDERS, Map.of("ids", new TreeSet<>(chunk)),
+            row -> {
+                statuses.put(row.getLong("id"), row.getString("status"));
+            });
+
+        List<OrderCancelResult> results = new ArrayList<>(chunk.size());
+        List<Long> cancelling = new ArrayList<>();
+        for (Long orderId : chunk) {
+            String status = statuses.get(orderId);
+            if (status == null) {
+                results.add(new OrderCancelResult(orderId, OrderCancelOutcome.NOT_FOUND,
+                    "Order not found with id: " + orderId));
+            } else if (OrderStatus.CANCELLED.name().equals(status)) {
+                results.add(new OrderCancelResult(orderId, OrderCancelOutcome.ALREADY_CANCELLED,
+                    "Order is already cancelled"));
+            } else {
+                cancelling.add(orderId);
+                results.add(new OrderCancelResult(orderId, OrderCancelOutcome.CANCELLED, null));
+            }
+        }
+        if (cancelling.isEmpty()) {
+            return results;
+        }
+
+        Map<String, Object> ids = Map.of("ids", cancelling);
+        jdbcTemplate.update(CANCEL_ORDERS, ids);
+
+        // Quantities are summed over every order in the chunk so each product gets a single stock update,
+        // applied in product id order like order placement to avoid deadlocking with live checkouts.
+        Map<Long, Integer> restock = new TreeMap<>();
+        jdbcTemplate.query(SUM_QUANTITIES, ids, row -> {
+            restock.put(row.getLong("product_id"), row.getInt("quantity"));
+        });
+        if (!restock.isEmpty()) {
+            stockStrategy.release(restock);
+            eventPublisher.publishEvent(new ProductStockChangedEvent(restock));
+            restock.forEach((productId, quantity) -> restocked.merge(productId, quantity, Integer::sum));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,181 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.request.CreateOrderRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.OrderItemRequest;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderIntakeResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderResponse;
+import bg.unisofia.fmi.electronicstore.entity.OrderIntake;
+import bg.unisofia.fmi.electronicstore.entity.OrderIntakeItem;
+import bg.unisofia.fmi.electronicstore.entity.OrderIntakeStatus;
+import bg.unisofia.fmi.electronicstore.exception.ConcurrentPurchaseException;
+import bg.unisofia.fmi.electronicstore.exception.InsufficientStockException;
+import bg.unisofia.fmi.electronicstore.exception.ResourceNotFoundException;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapper;
+import bg.unisofia.fmi.electronicstore.repository.OrderIntakeRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIntakeService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OrderIntakeRepository intakeRepository;
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final OrderService orderService;
+    private final OrderMapper orderMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${store.orders.placement:sync}")
+    private String placement = "sync";
+
+    @Value("${store.orders.intake.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    // Losing a stock race is expected on a hot product, so it gets a much higher cap than unexpected failures,
+    // but still a finite one so an intake that never wins cannot keep its shard busy forever.
+    @Value("${store.orders.intake.max-lost-races:50}")
+    private int maxLostRaces = 50;
+
+    public boolean isAsyncPlacement() {
+        return "async".equals(placement);
+    }
+
+    @Transactional
+    public OrderIntakeResponse enqueue(CreateOrderRequest request) {
+        if (!userRepository.existsById(request.getUserId())) {
+            throw new ResourceNotFoundException("User not found with id: " + request.getUserId());
+        }
+        Set<Long> productIds = request.getItems().stream()
+            .map(OrderItemRequest::getProductId)
+            .collect(Collectors.toCollection(TreeSet::new));
+        if (productRepository.countByIdIn(productIds) != productIds.size()) {
+            throw new ResourceNotFoundException("Product not found with id: " + productIds);
+        }
+
+        OrderIntake intake = new OrderIntake();
+        intake.setUserId(request.getUserId());
+        intake.setShardKey(Collections.min(productIds));
+        for (OrderItemRequest item : request.getItems()) {
+            intake.getItems().add(new OrderIntakeItem(item.getProductId(), item.getQuantity()));
+        }
+        return toResponse(intakeRepository.save(intake));
+    }
+
+    @Transactional(readOnly = true)
+    public OrderIntakeResponse getIntake(Long id) {
+        return intakeRepository.findById(id)
+            .map(this::toResponse)
+            .orElseThrow(() -> new ResourceNotFoundException("Order intake not found with id: " + id));
+    }
+
+    public boolean process(Long intakeId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> intakeRepository.findQueuedForUpdate(intakeId)
+                .ifPresent(intake -> {
+                    OrderResponse order = orderService.createOrder(toRequest(intake));
+                    intake.setStatus(OrderIntakeStatus.PLACED);
+                    intake.setOrderId(order.getId());
+                    intake.setProcessedAt(LocalDateTime.now());
+                }));
+            return true;
+        } catch (InsufficientStockException | ResourceNotFoundException e) {
+            reject(intakeId, e.getMessage());
+            return true;
+        } catch (ConcurrentPurchaseException | ObjectOptimisticLockingFailureException e) {
+            log.debug("Order intake {} lost a stock race, leaving it queued for the next run", intakeId);
+            return recordLostRace(intakeId, e);
+        } catch (RuntimeException e) {
+            log.warn("Order intake {} failed", intakeId, e);
+            return recordFailure(intakeId, e);
+        }
+    }
+
+    private void reject(Long intakeId, String reason) {
+        transactionTemplate.executeWithoutResult(status -> intakeRepository.findQueuedForUpdate(intakeId)
+            .ifPresent(intake -> {
+                intake.setStatus(OrderIntakeStatus.REJECTED);
+                intake.setError(truncate(reason));
+                intake.setProcessedAt(LocalDateTime.now());
+            }));
+    }
+
+    private boolean recordFailure(Long intakeId, RuntimeException failure) {
+        return giveUpAfter(intakeId, intake -> {
+            intake.setAttempts(intake.getAttempts() + 1);
+            return intake.getAttempts() >= maxAttempts
+                ? "Failed after " + intake.getAttempts() + " attempts: " + failure
+                : null;
+        });
+    }
+
+    private boolean recordLostRace(Long intakeId, RuntimeException failure) {
+        return giveUpAfter(intakeId, intake -> {
+            intake.setLostRaces(intake.getLostRaces() + 1);
+            return intake.getLostRaces() >= maxLostRaces
+                ? "Lost " + intake.getLostRaces() + " stock races: " + failure.getMessage()
+                : null;
+        });
+    }
+
+    private boolean giveUpAfter(Long intakeId, Function<OrderIntake, String> countAttempt) {
+        Boolean failed = transactionTemplate.execute(status -> intakeRepository.findQueuedForUpdate(intakeId)
+            .map(intake -> {
+                String reason = countAttempt.apply(intake);
+                if (reason == null) {
+                    return false;
+                }
+                intake.setStatus(OrderIntakeStatus.FAILED);
+                intake.setError(truncate(reason));
+                intake.setProcessedAt(LocalDateTime.now());
+                return true;
+            })
+            .orElse(true));
+        return Boolean.TRUE.equals(failed);
+    }
+
+    private static String truncate(String reason) {
+        if (reason == null) {
+            return null;
+        }
+        return reason.length() > MAX_ERROR_LENGTH ? reason.substring(0, MAX_ERROR_LENGTH) : reason;
+    }
+
+    private CreateOrderRequest toRequest(OrderIntake intake) {
+        List<OrderItemRequest> items = intake.getItems().stream()
+            .map(item -> {
+                OrderItemRequest itemRequest = new OrderItemRequest();
+                itemRequest.setProductId(item.getProductId());
+                itemRequest.setQuantity(item.getQuantity());
+                return itemRequest;
+            })
+            .collect(Collectors.toList());
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(intake.getUserId());
+        request.setItems(items);
+        return request;
+    }
+
+    private OrderIntakeResponse toResponse(OrderIntake intake) {
+        OrderIntakeResponse response = orderMapper.toIntakeResponse(intake);
+        response.setStatusUrl("/api/orders/intake/" + intake.getId());
+        return response;
+    }
+}
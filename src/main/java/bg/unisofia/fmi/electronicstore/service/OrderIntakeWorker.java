@@ -0,0 +1,82 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.repository.OrderIntakeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "store.orders.placement", havingValue = "async")
+@RequiredArgsConstructor
+public class OrderIntakeWorker {
+
+    private final OrderIntakeRepository intakeRepository;
+    private final OrderIntakeService intakeService;
+
+    @Value("${store.orders.intake.workers:4}")
+    private int workers;
+
+    @Value("${store.orders.intake.batch-size:100}")
+    private int batchSize;
+
+    @Value("${store.orders.intake.poll-interval-ms:100}")
+    private long pollIntervalMs;
+
+    private ScheduledExecutorService executor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newScheduledThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "order-intake-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int shard = 0; shard < workers; shard++) {
+            int assigned = shard;
+            executor.scheduleWithFixedDelay(() -> drain(assigned), pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        log.info("Started {} order intake workers", workers);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor != null) {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    void drain(int shard) {
+        try {
+            while (true) {
+                List<Long> intakeIds = intakeRepository.findQueuedIds(workers, shard, PageRequest.ofSize(batchSize));
+                int processed = 0;
+                for (Long intakeId : intakeIds) {
+                    if (intakeService.process(intakeId)) {
+                        processed++;
+                    }
+                }
+                // Intakes that lost a race or failed below the attempt limit stay queued, so a batch
+                // without progress would be fetched again unchanged; leave it for the next run instead.
+                if (intakeIds.size() < batchSize || processed == 0) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Order intake worker for shard {} failed, retrying on the next run", shard, e);
+        }
+    }
+}
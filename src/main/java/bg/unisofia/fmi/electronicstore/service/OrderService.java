@@ -1,94 +1,168 @@
 package bg.unisofia.fmi.electronicstore.service;
 
+import bg.unisofia.fmi.electronicstore.dto.projection.OrderLineView;
+import bg.unisofia.fmi.electronicstore.dto.projection.OrderSummaryView;
 import bg.unisofia.fmi.electronicstore.dto.request.CreateOrderRequest;
 import bg.unisofia.fmi.electronicstore.dto.request.OrderItemRequest;
+import bg.unisofia.fmi.electronicstore.dto.response.CursorPageResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.OrderResponse;
 import bg.unisofia.fmi.electronicstore.entity.*;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
 import bg.unisofia.fmi.electronicstore.exception.ConcurrentPurchaseException;
 import bg.unisofia.fmi.electronicstore.exception.InsufficientStockException;
 import bg.unisofia.fmi.electronicstore.exception.ResourceNotFoundException;
 import bg.unisofia.fmi.electronicstore.mapper.OrderMapper;
+import bg.unisofia.fmi.electronicstore.metrics.OrderMetrics;
+import bg.unisofia.fmi.electronicstore.repository.OrderItemRepository;
 import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
 import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
 import bg.unisofia.fmi.electronicstore.repository.UserRepository;
+import bg.unisofia.fmi.electronicstore.service.inventory.StockStrategy;
 import lombok.RequiredArgsConstructor;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final int LINE_BATCH_SIZE = 1000;
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final OrderMapper orderMapper;
+    private final StockStrategy stockStrategy;
+    private final OrderMetrics orderMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${store.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${store.pagination.max-size:100}")
+    private int maxPageSize;
 
     @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
-            .map(orderMapper::toResponse)
-            .collect(Collectors.toList());
+        return withLines(orderRepository.findAllSummaries());
     }
 
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        OrderSummaryView summary = orderRepository.findSummaryById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
-        return orderMapper.toResponse(order);
+        return withLines(List.of(summary)).get(0);
     }
 
     @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByUser(Long userId) {
-        return orderRepository.findByUserId(userId).stream()
-            .map(orderMapper::toResponse)
-            .collect(Collectors.toList());
+        return withLines(orderRepository.findSummariesByUserId(userId));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderResponse> getOrderPage(OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                                          String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        String scope = "orders:" + status + ":" + from + ":" + to;
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor, scope) : null;
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        LocalDateTime lower = from != null ? from : EARLIEST;
+        LocalDateTime upper = to != null ? to : LATEST;
+
+        List<OrderSummaryView> summaries;
+        if (status == null) {
+            summaries = after == null
+                ? orderRepository.findNewestFirst(lower, upper, limit)
+                : orderRepository.findNewestFirstAfter(lower, upper, after.keyAsDateTime(), after.getId(), limit);
+        } else {
+            summaries = after == null
+                ? orderRepository.findNewestFirstByStatus(status, lower, upper, limit)
+                : orderRepository.findNewestFirstByStatusAfter(status, lower, upper, after.keyAsDateTime(),
+                    after.getId(), limit);
+        }
+        return page(summaries, pageSize, scope);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderResponse> getOrderHistory(Long userId, OrderStatus status, LocalDateTime from,
+                                                             LocalDateTime to, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        String scope = "orders:" + userId + ":" + status + ":" + from + ":" + to;
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor, scope) : null;
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        LocalDateTime lower = from != null ? from : EARLIEST;
+        LocalDateTime upper = to != null ? to : LATEST;
+
+        List<OrderSummaryView> summaries;
+        if (status == null) {
+            summaries = after == null
+                ? orderRepository.findUserHistory(userId, lower, upper, limit)
+                : orderRepository.findUserHistoryAfter(userId, lower, upper, after.keyAsDateTime(), after.getId(),
+                    limit);
+        } else {
+            summaries = after == null
+                ? orderRepository.findUserHistoryByStatus(userId, status, lower, upper, limit)
+                : orderRepository.findUserHistoryByStatusAfter(userId, status, lower, upper, after.keyAsDateTime(),
+                    after.getId(), limit);
+        }
+        return page(summaries, pageSize, scope);
     }
 
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
-        User user = userRepository.findById(request.getUserId())
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getUserId()));
+        User user = orderMetrics.timePhase("user_load", () -> userRepository.findById(request.getUserId())
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + request.getUserId())));
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItemRequest itemRequest : request.getItems()) {
+            quantities.merge(itemRequest.getProductId(), itemRequest.getQuantity(), Integer::sum);
+        }
+        Map<Long, Product> products = orderMetrics.timePhase("product_load", () ->
+            productRepository.findByIdInOrderByIdAsc(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity())));
+
+        for (Long productId : quantities.keySet()) {
+            if (!products.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product not found with id: " + productId);
+            }
+        }
+        orderMetrics.recordPhase("stock_check", () -> reserveStock(quantities, products));
 
         Order order = new Order();
         order.setUser(user);
         order.setStatus(OrderStatus.PENDING);
 
         for (OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + itemRequest.getProductId()));
-
-            if (product.getStockQuantity() < itemRequest.getQuantity()) {
-                throw new InsufficientStockException(
-                    product.getName(),
-                    itemRequest.getQuantity(),
-                    product.getStockQuantity()
-                );
-            }
-
-            product.setStockQuantity(product.getStockQuantity() - itemRequest.getQuantity());
-
-            try {
-                productRepository.save(product);
-            } catch (ObjectOptimisticLockingFailureException e) {
-                throw new ConcurrentPurchaseException(
-                    "Product " + product.getName() + " was purchased by another customer. Please try again."
-                );
-            }
-
+            Product product = products.get(itemRequest.getProductId());
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
             orderItem.setProduct(product);
             orderItem.setQuantity(itemRequest.getQuantity());
             orderItem.setPriceAtPurchase(product.getPrice());
+            orderItem.setStockApplied(stockStrategy.appliesToProductImmediately());
             order.getItems().add(orderItem);
         }
 
         order.recalculateTotal();
-        Order saved = orderRepository.save(order);
+        Order saved = orderMetrics.timePhase("save", () -> orderRepository.saveAndFlush(order));
+        eventPublisher.publishEvent(new ProductStockChangedEvent(stockDeltas(order, -1)));
         return orderMapper.toResponse(saved);
     }
 
@@ -98,15 +172,67 @@ public class OrderService {
             .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
         if (status == OrderStatus.CANCELLED && order.getStatus() != OrderStatus.CANCELLED) {
-            for (OrderItem item : order.getItems()) {
-                Product product = item.getProduct();
-                product.setStockQuantity(product.getStockQuantity() + item.getQuantity());
-                productRepository.save(product);
-            }
+            Map<Long, Integer> restock = stockDeltas(order, 1);
+            stockStrategy.release(restock);
+            eventPublisher.publishEvent(new ProductStockChangedEvent(restock));
         }
 
         order.setStatus(status);
         Order saved = orderRepository.save(order);
         return orderMapper.toResponse(saved);
     }
+
+    private int pageSize(Integer size) {
+        return Math.min(size != null && size > 0 ? size : defaultPageSize, maxPageSize);
+    }
+
+    private CursorPageResponse<OrderResponse> page(List<OrderSummaryView> summaries, int pageSize, String scope) {
+        String nextCursor = null;
+        if (summaries.size() > pageSize) {
+            summaries = summaries.subList(0, pageSize);
+            OrderSummaryView last = summaries.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(scope, last.getCreatedAt(), last.getId());
+        }
+        return new CursorPageResponse<>(withLines(summaries), nextCursor);
+    }
+
+    private List<OrderResponse> withLines(List<OrderSummaryView> summaries) {
+        Map<Long, OrderResponse> responses = new HashMap<>();
+        List<OrderResponse> ordered = new ArrayList<>(summaries.size());
+        for (OrderSummaryView summary : summaries) {
+            OrderResponse response = orderMapper.toResponse(summary);
+            response.setItems(new ArrayList<>());
+            responses.put(summary.getId(), response);
+            ordered.add(response);
+        }
+
+        List<Long> orderIds = new ArrayList<>(responses.keySet());
+        for (int from = 0; from < orderIds.size(); from += LINE_BATCH_SIZE) {
+            List<Long> batch = orderIds.subList(from, Math.min(from + LINE_BATCH_SIZE, orderIds.size()));
+            for (OrderLineView line : orderItemRepository.findLinesByOrderIds(batch)) {
+                responses.get(line.getOrderId()).getItems().add(orderMapper.toOrderItemResponse(line));
+            }
+        }
+        return ordered;
+    }
+
+    private void reserveStock(Map<Long, Integer> quantities, Map<Long, Product> products) {
+        try {
+            stockStrategy.reserve(quantities, products);
+        } catch (InsufficientStockException e) {
+            orderMetrics.stockRejected(e.getProductId(), "insufficient_stock");
+            throw e;
+        } catch (ConcurrentPurchaseException e) {
+            orderMetrics.stockRejected(e.getProductId(), "concurrent_purchase");
+            throw e;
+        }
+    }
+
+    private Map<Long, Integer> stockDeltas(Order order, int sign) {
+        Map<Long, Integer> deltas = new TreeMap<>();
+        for (OrderItem item : order.getItems()) {
+            deltas.merge(item.getProduct().getId(), sign * item.getQuantity(), Integer::sum);
+        }
+        return deltas;
+    }
 }
@@ -0,0 +1,116 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.request.ProductUpdateItem;
+import bg.unisofia.fmi.electronicstore.dto.response.BulkProductUpdateResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductUpdateOutcome;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductUpdateResult;
+import bg.unisofia.fmi.electronicstore.event.ProductsUpdatedEvent;
+import bg.unisofia.fmi.electronicstore.service.inventory.InventoryReservationEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ProductBulkUpdateService {
+
+    private static final String LOCK_PRODUCTS =
+        "SELECT id, price, stock_quantity, version FROM products WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+    private static final String UPDATE_PRODUCT =
+        "UPDATE products SET price = ?, stock_quantity = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryReservationEngine reservationEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${store.products.bulk-update.chunk-size:500}")
+    private int chunkSize;
+
+    public BulkProductUpdateResponse updateProducts(List<ProductUpdateItem> items) {
+        List<ProductUpdateResult> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<ProductUpdateItem> chunk = items.subList(from, Math.min(items.size(), from + chunkSize));
+            results.addAll(transactionTemplate.execute(status -> updateChunk(chunk)));
+        }
+
+        long updated = results.stream()
+            .filter(result -> result.getOutcome() == ProductUpdateOutcome.UPDATED)
+            .count();
+        return new BulkProductUpdateResponse(updated, results.size() - updated, results);
+    }
+
+    private List<ProductUpdateResult> updateChunk(List<ProductUpdateItem> chunk) {
+        // Rows are locked in id order, the same order order placement adjusts stock in, so the two cannot deadlock.
+        Map<String, Object> ids = Map.of("ids", chunk.stream()
+            .map(ProductUpdateItem::getId)
+            .collect(Collectors.toCollection(TreeSet::new)));
+        Map<Long, ProductState> states = new HashMap<>();
+        jdbcTemplate.query(LOCK_PRODUCTS, ids, row -> {
+            states.put(row.getLong("id"),
+                new ProductState(row.getBigDecimal("price"), row.getInt("stock_quantity"), row.getLong("version")));
+        });
+        Map<Long, Integer> originalStock = states.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().stockQuantity()));
+
+        List<ProductUpdateResult> results = new ArrayList<>(chunk.size());
+        List<Object[]> updates = new ArrayList<>(chunk.size());
+        for (ProductUpdateItem item : chunk) {
+            ProductState current = states.get(item.getId());
+            if (current == null) {
+                results.add(new ProductUpdateResult(item.getId(), ProductUpdateOutcome.NOT_FOUND, null,
+                    "Product not found with id: " + item.getId()));
+                continue;
+            }
+            if (item.getExpectedVersion() != null && item.getExpectedVersion() != current.version()) {
+                results.add(new ProductUpdateResult(item.getId(), ProductUpdateOutcome.VERSION_CONFLICT, current.version(),
+                    "Expected version " + item.getExpectedVersion() + " but found " + current.version()));
+                continue;
+            }
+
+            ProductState next = new ProductState(
+                item.getPrice() != null ? item.getPrice() : current.price(),
+                item.getStockQuantity() != null ? item.getStockQuantity() : current.stockQuantity(),
+                current.version() + 1);
+            updates.add(new Object[] {next.price(), next.stockQuantity(), item.getId(), current.version()});
+            states.put(item.getId(), next);
+            results.add(new ProductUpdateResult(item.getId(), ProductUpdateOutcome.UPDATED, next.version(), null));
+        }
+        if (updates.isEmpty()) {
+            return results;
+        }
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_PRODUCT, updates);
+
+        Map<Long, Integer> stockDeltas = new TreeMap<>();
+        originalStock.forEach((productId, stock) -> {
+            int delta = states.get(productId).stockQuantity() - stock;
+            if (delta != 0) {
+                stockDeltas.put(productId, delta);
+            }
+        });
+        if (!stockDeltas.isEmpty()) {
+            reservationEngine.adjustOnCommit(stockDeltas);
+        }
+        eventPublisher.publishEvent(new ProductsUpdatedEvent(results.stream()
+            .filter(result -> result.getOutcome() == ProductUpdateOutcome.UPDATED)
+            .map(ProductUpdateResult::getId)
+            .distinct()
+            .collect(Collectors.toList())));
+        return results;
+    }
+
+    private record ProductState(BigDecimal price, int stockQuantity, long version) {
+    }
+}
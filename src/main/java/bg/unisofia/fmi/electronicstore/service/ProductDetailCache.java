@@ -0,0 +1,162 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.response.CacheStatsResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.CategoryResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductRatingChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsUpdatedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+public class ProductDetailCache {
+
+    private static final int STRIPES = 64;
+
+    private final Cache<Long, CachedProduct> cache;
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    private final LongAdder rejectedFills = new LongAdder();
+
+    public ProductDetailCache(@Value("${store.cache.products.max-size:10000}") long maxSize,
+                              @Value("${store.cache.products.ttl-seconds:600}") long ttlSeconds) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+    }
+
+    public ProductResponse get(Long id, Function<Long, ProductResponse> loader) {
+        CachedProduct cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached.toResponse();
+        }
+
+        // The loader runs outside any lock, so an invalidation may land while it reads the database.
+        // The stamp taken before loading tells us whether the result may already be out of date.
+        int stripe = stripe(id);
+        long stamp = invalidations.get(stripe);
+        ProductResponse loaded = loader.apply(id);
+        CachedProduct snapshot = CachedProduct.of(loaded);
+        cache.asMap().compute(id, (key, existing) -> {
+            if (invalidations.get(stripe) != stamp || (existing != null && existing.versionOrZero() > snapshot.versionOrZero())) {
+                rejectedFills.increment();
+                return existing;
+            }
+            return snapshot;
+        });
+        return loaded;
+    }
+
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            invalidations.incrementAndGet(i);
+        }
+        cache.invalidateAll();
+    }
+
+    public CacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatsResponse(
+            cache.estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.evictionCount(),
+            rejectedFills.sum()
+        );
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(event.getProductId());
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        event.getStockDeltas().keySet().forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener
+    public void onProductsUpdated(ProductsUpdatedEvent event) {
+        event.getProductIds().forEach(this::invalidate);
+    }
+
+    @TransactionalEventListener
+    public void onRatingChanged(ProductRatingChangedEvent event) {
+        event.getProductIds().forEach(this::invalidate);
+    }
+
+    private static int stripe(Long id) {
+        return Math.floorMod(id.hashCode(), STRIPES);
+    }
+
+    // ProductResponse is a mutable DTO, so entries are kept as immutable snapshots and every hit gets its own copy.
+    private record CachedProduct(Long id, String name, String description, BigDecimal price, Integer stockQuantity,
+                                 Long version, LocalDateTime createdAt, List<CachedCategory> categories,
+                                 Double averageRating) {
+
+        static CachedProduct of(ProductResponse response) {
+            List<CachedCategory> categories = response.getCategories() == null ? null
+                : response.getCategories().stream().map(CachedCategory::of).toList();
+            return new CachedProduct(response.getId(), response.getName(), response.getDescription(),
+                response.getPrice(), response.getStockQuantity(), response.getVersion(), response.getCreatedAt(),
+                categories, response.getAverageRating());
+        }
+
+        long versionOrZero() {
+            return version != null ? version : 0L;
+        }
+
+        ProductResponse toResponse() {
+            ProductResponse response = new ProductResponse();
+            response.setId(id);
+            response.setName(name);
+            response.setDescription(description);
+            response.setPrice(price);
+            response.setStockQuantity(stockQuantity);
+            response.setVersion(version);
+            response.setCreatedAt(createdAt);
+            response.setCategories(categories == null ? null : categories.stream()
+                .map(CachedCategory::toResponse)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+            response.setAverageRating(averageRating);
+            return response;
+        }
+    }
+
+    private record CachedCategory(Long id, String name, String description) {
+
+        static CachedCategory of(CategoryResponse response) {
+            return new CachedCategory(response.getId(), response.getName(), response.getDescription());
+        }
+
+        CategoryResponse toResponse() {
+            CategoryResponse response = new CategoryResponse();
+            response.setId(id);
+            response.setName(name);
+            response.setDescription(description);
+            return response;
+        }
+    }
+}
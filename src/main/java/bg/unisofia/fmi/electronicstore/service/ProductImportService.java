@@ -0,0 +1,300 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductSearchDocument;
+import bg.unisofia.fmi.electronicstore.dto.request.ProductImportRow;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductImportError;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductImportResponse;
+import bg.unisofia.fmi.electronicstore.entity.Category;
+import bg.unisofia.fmi.electronicstore.event.ProductsImportedEvent;
+import bg.unisofia.fmi.electronicstore.exception.InvalidImportException;
+import bg.unisofia.fmi.electronicstore.repository.CategoryRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductImportService {
+
+    private static final String PRODUCTS_SEQUENCE = "products_id_seq";
+    private static final int PRODUCTS_SEQUENCE_INCREMENT = 50;
+    private static final String CATEGORY_SEPARATOR = "\\|";
+
+    private static final String INSERT_PRODUCT =
+        "INSERT INTO products (id, name, description, price, stock_quantity, version, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, 0, ?)";
+    private static final String INSERT_PRODUCT_CATEGORY =
+        "INSERT INTO product_categories (product_id, category_id) VALUES (?, ?)";
+    private static final String INSERT_RATING_SUMMARY =
+        "INSERT INTO product_rating_summaries (product_id, rating_sum, rating_count, one_star_count, "
+            + "two_star_count, three_star_count, four_star_count, five_star_count) VALUES (?, 0, 0, 0, 0, 0, 0, 0)";
+
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${store.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${store.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ProductImportResponse importCsv(InputStream in) throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(
+            new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new InvalidImportException("CSV upload is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        for (String required : List.of("name", "price", "stockquantity")) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidImportException("CSV header is missing the " + required + " column");
+            }
+        }
+
+        ImportJob job = new ImportJob();
+        for (List<String> record = reader.next(); record != null; record = reader.next()) {
+            if (reader.isMalformed()) {
+                job.reject(reader.getRecordLine(), "Unterminated quoted field");
+                continue;
+            }
+            try {
+                job.add(reader.getRecordLine(), toRow(record, columns));
+            } catch (NumberFormatException e) {
+                job.reject(reader.getRecordLine(), e.getMessage());
+            }
+        }
+        return job.finish();
+    }
+
+    public ProductImportResponse importNdjson(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ImportJob job = new ImportJob();
+        long line = 0;
+        for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                job.add(line, objectMapper.readValue(text, ProductImportRow.class));
+            } catch (JsonProcessingException e) {
+                job.reject(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        return job.finish();
+    }
+
+    private ProductImportRow toRow(List<String> record, Map<String, Integer> columns) {
+        ProductImportRow row = new ProductImportRow();
+        row.setName(column(record, columns, "name"));
+        row.setDescription(column(record, columns, "description"));
+        String price = column(record, columns, "price");
+        String stockQuantity = column(record, columns, "stockquantity");
+        try {
+            row.setPrice(price != null ? new BigDecimal(price) : null);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("price: not a number: " + price);
+        }
+        try {
+            row.setStockQuantity(stockQuantity != null ? Integer.valueOf(stockQuantity) : null);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("stockQuantity: not a whole number: " + stockQuantity);
+        }
+        String categories = column(record, columns, "categories");
+        if (categories != null) {
+            row.setCategories(Arrays.asList(categories.split(CATEGORY_SEPARATOR)));
+        }
+        return row;
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void insert(List<PendingProduct> products) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, products, products.size(), (ps, product) -> {
+            ps.setLong(1, product.id());
+            ps.setString(2, product.row().getName());
+            ps.setString(3, product.row().getDescription());
+            ps.setBigDecimal(4, product.row().getPrice());
+            ps.setInt(5, product.row().getStockQuantity());
+            ps.setTimestamp(6, createdAt);
+        });
+
+        List<long[]> links = new ArrayList<>();
+        products.forEach(product -> product.categoryIds().forEach(categoryId -> links.add(new long[] {product.id(), categoryId})));
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRODUCT_CATEGORY, links, links.size(), (ps, link) -> {
+                ps.setLong(1, link[0]);
+                ps.setLong(2, link[1]);
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_RATING_SUMMARY, products, products.size(),
+            (ps, product) -> ps.setLong(1, product.id()));
+
+        eventPublisher.publishEvent(new ProductsImportedEvent(products.stream()
+            .map(product -> new ProductSearchDocument(product.id(), product.row().getName(), product.row().getDescription()))
+            .collect(Collectors.toList())));
+    }
+
+    private record PendingProduct(long line, long id, ProductImportRow row, Set<Long> categoryIds) {
+    }
+
+    private final class ImportJob {
+
+        private final List<Category> categories = categoryRepository.findAll();
+        private final Map<String, Long> categoryIds = categories.stream()
+            .collect(Collectors.toMap(Category::getName, Category::getId));
+        private final Map<String, List<Long>> categoryIdsIgnoringCase = categories.stream()
+            .collect(Collectors.groupingBy(category -> category.getName().toLowerCase(Locale.ROOT),
+                Collectors.mapping(Category::getId, Collectors.toList())));
+        private final String nextIdBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices().getDialect().getSequenceSupport().getSequenceNextValString(PRODUCTS_SEQUENCE);
+        private final List<PendingProduct> batch = new ArrayList<>(batchSize);
+        private final List<ProductImportError> errors = new ArrayList<>();
+        private long nextId = 1;
+        private long lastId = 0;
+        private long imported;
+        private long rejected;
+
+        void add(long line, ProductImportRow row) {
+            String error = validate(row);
+            if (error != null) {
+                reject(line, error);
+                return;
+            }
+
+            Set<Long> rowCategoryIds = new LinkedHashSet<>();
+            if (row.getCategories() != null) {
+                for (String name : row.getCategories()) {
+                    if (name == null || name.isBlank()) {
+                        continue;
+                    }
+                    String trimmed = name.trim();
+                    Long categoryId = categoryIds.get(trimmed);
+                    if (categoryId == null) {
+                        List<Long> candidates = categoryIdsIgnoringCase.getOrDefault(trimmed.toLowerCase(Locale.ROOT), List.of());
+                        if (candidates.size() > 1) {
+                            reject(line, "Ambiguous category: " + trimmed);
+                            return;
+                        }
+                        if (candidates.isEmpty()) {
+                            reject(line, "Unknown category: " + trimmed);
+                            return;
+                        }
+                        categoryId = candidates.get(0);
+                    }
+                    rowCategoryIds.add(categoryId);
+                }
+            }
+
+            batch.add(new PendingProduct(line, nextId(), row, rowCategoryIds));
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportError(line, message));
+            }
+        }
+
+        ProductImportResponse finish() {
+            flush();
+            log.info("Imported {} products, rejected {}", imported, rejected);
+            return new ProductImportResponse(imported, rejected, errors, rejected > errors.size());
+        }
+
+        private String validate(ProductImportRow row) {
+            return validator.validate(row).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .findFirst()
+                .map(this::describe)
+                .orElse(null);
+        }
+
+        private String describe(ConstraintViolation<ProductImportRow> violation) {
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+
+        private long nextId() {
+            // Each nextval reserves the block of PRODUCTS_SEQUENCE_INCREMENT ids ending at the returned value,
+            // the same range Hibernate's pooled optimizer takes, so imports and JPA inserts never collide.
+            if (nextId > lastId) {
+                long high = jdbcTemplate.queryForObject(nextIdBlockSql, Long.class);
+                nextId = Math.max(1, high - PRODUCTS_SEQUENCE_INCREMENT + 1);
+                lastId = high;
+            }
+            return nextId++;
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(batch));
+                imported += batch.size();
+            } catch (DataAccessException e) {
+                log.warn("Import batch of {} rows failed, retrying row by row: {}", batch.size(), e.getMessage());
+                for (PendingProduct product : batch) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(List.of(product)));
+                        imported++;
+                    } catch (DataAccessException rowError) {
+                        reject(product.line(), rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductRatingView;
+import bg.unisofia.fmi.electronicstore.entity.ProductRatingSummary;
+import bg.unisofia.fmi.electronicstore.event.ProductRatingChangedEvent;
+import bg.unisofia.fmi.electronicstore.repository.CounterUpsertTemplate;
+import bg.unisofia.fmi.electronicstore.repository.ProductRatingSummaryRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductRatingSummaryService {
+
+    private static final String SUMMARY_TABLE = "product_rating_summaries";
+    private static final List<String> COUNTER_COLUMNS = List.of("rating_sum", "rating_count", "one_star_count",
+        "two_star_count", "three_star_count", "four_star_count", "five_star_count");
+
+    private final ProductRatingSummaryRepository ratingSummaryRepository;
+    private final CounterUpsertTemplate counterUpserts;
+    private final ProductRepository productRepository;
+    private final ReviewRepository reviewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${store.ratings.rebuild-chunk-size:500}")
+    private int rebuildChunkSize;
+
+    @Transactional
+    public void addRating(Long productId, int rating) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+        Object[] row = new Object[] {productId, (long) rating, 1L, 0L, 0L, 0L, 0L, 0L};
+        row[2 + rating] = 1L;
+        counterUpserts.add(SUMMARY_TABLE, List.of("product_id"), COUNTER_COLUMNS, List.<Object[]>of(row));
+        eventPublisher.publishEvent(new ProductRatingChangedEvent(List.of(productId)));
+    }
+
+    @Transactional
+    public void removeRating(Long productId, int rating) {
+        ratingSummaryRepository.findByIdForUpdate(productId).ifPresent(summary -> {
+            summary.removeRating(rating);
+            ratingSummaryRepository.save(summary);
+            eventPublisher.publishEvent(new ProductRatingChangedEvent(List.of(productId)));
+        });
+    }
+
+    @Scheduled(cron = "${store.ratings.rebuild-cron:-}")
+    public void rebuildAll() {
+        long afterId = 0L;
+        int rebuilt = 0;
+        while (true) {
+            List<Long> productIds = productRepository.findIdsAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+            if (productIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> rebuildChunk(productIds));
+            rebuilt += productIds.size();
+            afterId = productIds.get(productIds.size() - 1);
+        }
+        log.info("Rebuilt rating summaries for {} products", rebuilt);
+    }
+
+    private void rebuildChunk(List<Long> productIds) {
+        Map<Long, ProductRatingSummary> existing = ratingSummaryRepository.findAllByIdForUpdate(productIds).stream()
+            .collect(Collectors.toMap(ProductRatingSummary::getProductId, Function.identity()));
+        Map<Long, ProductRatingView> actual = reviewRepository.summarizeByProductIds(productIds).stream()
+            .collect(Collectors.toMap(ProductRatingView::getProductId, Function.identity()));
+
+        for (Long productId : productIds) {
+            ProductRatingSummary summary = existing.getOrDefault(productId, new ProductRatingSummary(productId));
+            ProductRatingView view = actual.get(productId);
+            if (view == null) {
+                view = new ProductRatingView(productId, 0L, 0L, 0L, 0L, 0L, 0L, 0L);
+            }
+            summary.setRatingSum(view.getRatingSum());
+            summary.setRatingCount(view.getRatingCount());
+            summary.setOneStarCount(view.getOneStarCount());
+            summary.setTwoStarCount(view.getTwoStarCount());
+            summary.setThreeStarCount(view.getThreeStarCount());
+            summary.setFourStarCount(view.getFourStarCount());
+            summary.setFiveStarCount(view.getFiveStarCount());
+            ratingSummaryRepository.save(summary);
+        }
+        eventPublisher.publishEvent(new ProductRatingChangedEvent(productIds));
+    }
+}
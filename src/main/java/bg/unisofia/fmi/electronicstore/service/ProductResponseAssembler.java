@@ -0,0 +1,59 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.ProductRatingSummary;
+import bg.unisofia.fmi.electronicstore.mapper.ProductMapper;
+import bg.unisofia.fmi.electronicstore.repository.ProductRatingSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class ProductResponseAssembler {
+
+    private static final int RATING_BATCH_SIZE = 1000;
+
+    private final ProductRatingSummaryRepository ratingSummaryRepository;
+    private final ProductMapper productMapper;
+
+    public List<ProductResponse> toResponses(List<Product> products) {
+        if (products.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> productIds = products.stream()
+            .map(Product::getId)
+            .collect(Collectors.toList());
+        // Listings can cover the whole catalog, so the ids are bound in batches to stay under the driver's parameter limit.
+        Map<Long, ProductRatingSummary> ratings = new HashMap<>();
+        for (int from = 0; from < productIds.size(); from += RATING_BATCH_SIZE) {
+            List<Long> batch = productIds.subList(from, Math.min(from + RATING_BATCH_SIZE, productIds.size()));
+            ratingSummaryRepository.findAllById(batch)
+                .forEach(summary -> ratings.put(summary.getProductId(), summary));
+        }
+
+        return products.stream()
+            .map(product -> {
+                ProductResponse response = productMapper.toResponse(product);
+                ProductRatingSummary summary = ratings.get(product.getId());
+                response.setAverageRating(summary != null ? summary.getAverageRating() : null);
+                return response;
+            })
+            .collect(Collectors.toList());
+    }
+
+    public ProductResponse toResponse(Product product) {
+        ProductResponse response = productMapper.toResponse(product);
+        Double avgRating = ratingSummaryRepository.findById(product.getId())
+            .map(ProductRatingSummary::getAverageRating)
+            .orElse(null);
+        response.setAverageRating(avgRating);
+        return response;
+    }
+}
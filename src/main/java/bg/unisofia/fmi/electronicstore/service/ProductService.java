@@ -1,21 +1,47 @@
 package bg.unisofia.fmi.electronicstore.service;
 
 import bg.unisofia.fmi.electronicstore.dto.request.CreateProductRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.ProductSort;
 import bg.unisofia.fmi.electronicstore.dto.request.UpdateProductRequest;
+import bg.unisofia.fmi.electronicstore.dto.response.CacheStatsResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.CursorPageResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductFilterResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductListingResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductSuggestionResponse;
 import bg.unisofia.fmi.electronicstore.entity.Category;
 import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.ProductRatingSummary;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
 import bg.unisofia.fmi.electronicstore.exception.ResourceNotFoundException;
 import bg.unisofia.fmi.electronicstore.mapper.ProductMapper;
 import bg.unisofia.fmi.electronicstore.repository.CategoryRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRatingSummaryRepository;
 import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.service.catalog.CatalogRow;
+import bg.unisofia.fmi.electronicstore.service.catalog.CatalogSnapshot;
+import bg.unisofia.fmi.electronicstore.service.catalog.CatalogSnapshotStore;
+import bg.unisofia.fmi.electronicstore.service.inventory.InventoryReservationEngine;
+import bg.unisofia.fmi.electronicstore.service.search.ProductAutocompleteIndex;
+import bg.unisofia.fmi.electronicstore.service.search.ProductFacetIndex;
+import bg.unisofia.fmi.electronicstore.service.search.ProductSearchEngine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,48 +50,163 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductRatingSummaryRepository ratingSummaryRepository;
     private final ProductMapper productMapper;
+    private final ProductResponseAssembler responseAssembler;
+    private final ProductSearchEngine searchEngine;
+    private final ProductAutocompleteIndex autocompleteIndex;
+    private final ProductFacetIndex facetIndex;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final ProductDetailCache productDetailCache;
+    private final InventoryReservationEngine reservationEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${store.pagination.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${store.pagination.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${store.search.max-results:100}")
+    private int maxSearchResults;
+
+    @Value("${store.autocomplete.max-suggestions:10}")
+    private int maxSuggestions;
 
     @Transactional(readOnly = true)
     public List<ProductResponse> getAllProducts() {
-        return productRepository.findAll().stream()
-            .map(this::mapWithRating)
-            .collect(Collectors.toList());
+        return responseAssembler.toResponses(productRepository.findAll());
     }
 
-    @Transactional(readOnly = true)
     public ProductResponse getProductById(Long id) {
-        Product product = productRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return mapWithRating(product);
+        return productDetailCache.get(id, this::loadProductDetail);
+    }
+
+    public CacheStatsResponse getProductCacheStats() {
+        return productDetailCache.stats();
     }
 
     @Transactional(readOnly = true)
     public List<ProductResponse> searchByName(String name) {
-        return productRepository.findByNameContainingIgnoreCase(name).stream()
-            .map(this::mapWithRating)
-            .collect(Collectors.toList());
+        List<Long> rankedIds = searchEngine.search(name, maxSearchResults);
+        if (rankedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(rankedIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        return responseAssembler.toResponses(rankedIds.stream()
+            .map(products::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList()));
+    }
+
+    public List<ProductSuggestionResponse> autocomplete(String prefix, Integer limit) {
+        int suggestionLimit = limit != null && limit > 0 ? limit : maxSuggestions;
+        return autocompleteIndex.suggest(prefix, Math.min(suggestionLimit, maxSuggestions));
     }
 
     @Transactional(readOnly = true)
     public List<ProductResponse> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
-        return productRepository.findByPriceRange(minPrice, maxPrice).stream()
-            .map(this::mapWithRating)
-            .collect(Collectors.toList());
+        return responseAssembler.toResponses(productRepository.findByPriceRange(minPrice, maxPrice));
     }
 
     @Transactional(readOnly = true)
     public List<ProductResponse> findByCategory(Long categoryId) {
-        return productRepository.findByCategoryId(categoryId).stream()
-            .map(this::mapWithRating)
-            .collect(Collectors.toList());
+        return responseAssembler.toResponses(productRepository.findByCategoryId(categoryId));
     }
 
     @Transactional(readOnly = true)
     public List<ProductResponse> findAvailable() {
-        return productRepository.findAvailableProducts().stream()
-            .map(this::mapWithRating)
-            .collect(Collectors.toList());
+        return responseAssembler.toResponses(productRepository.findAvailableProducts());
+    }
+
+    public List<ProductListingResponse> listByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        long minCents = minPrice.movePointRight(2).setScale(0, RoundingMode.CEILING).longValue();
+        long maxCents = maxPrice.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue();
+        return toListings(catalogSnapshotStore.current().findByPriceRange(minCents, maxCents));
+    }
+
+    public CursorPageResponse<ProductListingResponse> listAvailable(String cursor, Integer limit) {
+        int pageSize = Math.min(limit != null && limit > 0 ? limit : defaultPageSize, maxPageSize);
+        String scope = "listing:available";
+        CatalogSnapshot snapshot = catalogSnapshotStore.current();
+        List<CatalogRow> rows;
+        if (cursor == null) {
+            rows = snapshot.findAvailable(pageSize + 1);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor, scope);
+            rows = snapshot.findAvailableAfter(after.keyAsLong(), after.getId(), pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            CatalogRow last = rows.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(scope, last.createdAtMicros(), last.id());
+        }
+        return new CursorPageResponse<>(toListings(rows), nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public ProductFilterResponse filterProducts(Set<Long> categoryIds, BigDecimal minPrice, BigDecimal maxPrice,
+                                                boolean inStock, String cursor, Integer size) {
+        int pageSize = Math.min(size != null && size > 0 ? size : defaultPageSize, maxPageSize);
+        Set<Long> categories = categoryIds != null ? new TreeSet<>(categoryIds) : new TreeSet<>();
+        String scope = "filter:" + categories + ":" + minPrice + ":" + maxPrice + ":" + inStock;
+        Long beforeId = cursor != null ? KeysetCursor.decode(cursor, scope).getId() : null;
+
+        ProductFacetIndex.Result result = facetIndex.filter(categories, minPrice, maxPrice, inStock, beforeId, pageSize + 1);
+        List<Long> pageIds = result.productIds();
+        String nextCursor = null;
+        if (pageIds.size() > pageSize) {
+            pageIds = pageIds.subList(0, pageSize);
+            Long last = pageIds.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(scope, last, last);
+        }
+
+        List<ProductResponse> items = new ArrayList<>();
+        if (!pageIds.isEmpty()) {
+            Map<Long, Product> products = productRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+            items = responseAssembler.toResponses(pageIds.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        }
+        return new ProductFilterResponse(items, nextCursor, result.total(), result.categoryCounts(),
+            result.priceBuckets(), result.inStockCount());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> getProductPage(ProductSort sort, String cursor, Integer size,
+                                                              boolean availableOnly) {
+        int pageSize = Math.min(size != null && size > 0 ? size : defaultPageSize, maxPageSize);
+        int minStock = availableOnly ? 1 : 0;
+        String scope = "products:" + sort + ":" + minStock;
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor, scope) : null;
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<Product> products = switch (sort) {
+            case NEWEST -> after == null
+                ? productRepository.findNewestFirst(minStock, limit)
+                : productRepository.findNewestFirstAfter(minStock, after.keyAsDateTime(), after.getId(), limit);
+            case PRICE_ASC -> after == null
+                ? productRepository.findCheapestFirst(minStock, limit)
+                : productRepository.findCheapestFirstAfter(minStock, after.keyAsDecimal(), after.getId(), limit);
+            case PRICE_DESC -> after == null
+                ? productRepository.findMostExpensiveFirst(minStock, limit)
+                : productRepository.findMostExpensiveFirstAfter(minStock, after.keyAsDecimal(), after.getId(), limit);
+        };
+
+        String nextCursor = null;
+        if (products.size() > pageSize) {
+            products = products.subList(0, pageSize);
+            Product last = products.get(pageSize - 1);
+            Object key = sort == ProductSort.NEWEST ? last.getCreatedAt() : last.getPrice().toPlainString();
+            nextCursor = KeysetCursor.encode(scope, key, last.getId());
+        }
+        return new CursorPageResponse<>(responseAssembler.toResponses(products), nextCursor);
     }
 
     @Transactional
@@ -78,7 +219,10 @@ public class ProductService {
         }
 
         Product saved = productRepository.save(product);
-        return mapWithRating(saved);
+        ratingSummaryRepository.save(new ProductRatingSummary(saved.getId()));
+        ProductResponse response = responseAssembler.toResponse(saved);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId(), response));
+        return response;
     }
 
     @Transactional
@@ -96,6 +240,7 @@ public class ProductService {
             product.setPrice(request.getPrice());
         }
         if (request.getStockQuantity() != null) {
+            reservationEngine.adjustOnCommit(Map.of(id, request.getStockQuantity() - product.getStockQuantity()));
             product.setStockQuantity(request.getStockQuantity());
         }
         if (request.getCategoryIds() != null) {
@@ -104,7 +249,9 @@ public class ProductService {
         }
 
         Product saved = productRepository.save(product);
-        return mapWithRating(saved);
+        ProductResponse response = responseAssembler.toResponse(saved);
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId(), response));
+        return response;
     }
 
     @Transactional
@@ -113,12 +260,19 @@ public class ProductService {
             throw new ResourceNotFoundException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(id));
     }
 
-    private ProductResponse mapWithRating(Product product) {
-        ProductResponse response = productMapper.toResponse(product);
-        Double avgRating = productRepository.getAverageRating(product.getId());
-        response.setAverageRating(avgRating);
-        return response;
+    private ProductResponse loadProductDetail(Long id) {
+        Product product = productRepository.findWithCategoriesById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        return responseAssembler.toResponse(product);
+    }
+
+    private List<ProductListingResponse> toListings(List<CatalogRow> rows) {
+        return rows.stream()
+            .map(row -> new ProductListingResponse(row.id(), row.name(), CatalogSnapshotStore.fromCents(row.priceInCents()),
+                row.stockQuantity(), CatalogSnapshotStore.fromMicros(row.createdAtMicros())))
+            .collect(Collectors.toList());
     }
 }
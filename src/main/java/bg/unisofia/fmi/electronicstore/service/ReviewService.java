@@ -25,6 +25,7 @@ public class ReviewService {
     private final UserRepository userRepository;
     private final ProductRepository productRepository;
     private final ReviewMapper reviewMapper;
+    private final ProductRatingSummaryService ratingSummaryService;
 
     @Transactional(readOnly = true)
     public List<ReviewResponse> getAllReviews() {
@@ -73,14 +74,15 @@ public class ReviewService {
         review.setComment(request.getComment());
 
         Review saved = reviewRepository.save(review);
+        ratingSummaryService.addRating(product.getId(), saved.getRating());
         return reviewMapper.toResponse(saved);
     }
 
     @Transactional
     public void deleteReview(Long id) {
-        if (!reviewRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Review not found with id: " + id);
-        }
-        reviewRepository.deleteById(id);
+        Review review = reviewRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
+        reviewRepository.delete(review);
+        ratingSummaryService.removeRating(review.getProduct().getId(), review.getRating());
     }
 }
@@ -0,0 +1,4 @@
+package bg.unisofia.fmi.electronicstore.service.catalog;
+
+public record CatalogRow(long id, String name, long priceInCents, int stockQuantity, long createdAtMicros) {
+}
@@ -0,0 +1,342 @@
+package bg.unisofia.fmi.electronicstore.service.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x43415431;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    // Layout after the header (magic, version, size, name bytes), all little-endian and in id order:
+    // ids, prices in cents and created-at micros as longs, stock as ints, size + 1 name offsets,
+    // two int permutations of the rows (by price then id, newest first) and finally the UTF-8 names.
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int pricesAt;
+    private final int createdAtAt;
+    private final int stockAt;
+    private final int nameOffsetsAt;
+    private final int byPriceAt;
+    private final int byNewestAt;
+    private final int namesAt;
+
+    private CatalogSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Not a catalog snapshot");
+        }
+        this.size = buffer.getInt(8);
+        int namesLength = buffer.getInt(12);
+        this.pricesAt = HEADER_BYTES + size * Long.BYTES;
+        this.createdAtAt = pricesAt + size * Long.BYTES;
+        this.stockAt = createdAtAt + size * Long.BYTES;
+        this.nameOffsetsAt = stockAt + size * Integer.BYTES;
+        this.byPriceAt = nameOffsetsAt + (size + 1) * Integer.BYTES;
+        this.byNewestAt = byPriceAt + size * Integer.BYTES;
+        this.namesAt = byNewestAt + size * Integer.BYTES;
+        if (size < 0 || namesLength < 0 || buffer.capacity() != namesAt + namesLength) {
+            throw new IllegalArgumentException("Truncated catalog snapshot");
+        }
+    }
+
+    public static CatalogSnapshot empty() {
+        return new Builder(0).build();
+    }
+
+    public static CatalogSnapshot wrap(ByteBuffer buffer) {
+        return new CatalogSnapshot(buffer);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Optional<CatalogRow> find(long id) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = id(middle);
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return Optional.of(row(middle));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<CatalogRow> findByPriceRange(long minPriceInCents, long maxPriceInCents) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (price(byPrice(middle)) < minPriceInCents) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        List<CatalogRow> rows = new ArrayList<>();
+        for (int i = low; i < size && price(byPrice(i)) <= maxPriceInCents; i++) {
+            rows.add(row(byPrice(i)));
+        }
+        return rows;
+    }
+
+    public List<CatalogRow> findAvailable(int limit) {
+        return collectAvailable(0, limit);
+    }
+
+    public List<CatalogRow> findAvailableAfter(long createdAtMicros, long id, int limit) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int row = byNewest(middle);
+            if (createdAt(row) > createdAtMicros || (createdAt(row) == createdAtMicros && id(row) >= id)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return collectAvailable(low, limit);
+    }
+
+    public CatalogSnapshot apply(Collection<CatalogRow> upserts, Collection<Long> removed) {
+        CatalogRow[] changes = upserts.toArray(new CatalogRow[0]);
+        Arrays.sort(changes, Comparator.comparingLong(CatalogRow::id));
+        long[] removedIds = removed.stream().mapToLong(Long::longValue).sorted().toArray();
+
+        // Merge the old rows and the changes by id into a new buffer; the old one is never modified,
+        // so readers holding it keep a consistent view until they drop it.
+        Builder builder = new Builder(size + changes.length);
+        int[] newRowOfOld = new int[size];
+        int[] newRowOfChange = new int[changes.length];
+        int oldRow = 0;
+        int change = 0;
+        int removedAt = 0;
+        while (oldRow < size || change < changes.length) {
+            if (oldRow == size || (change < changes.length && changes[change].id() <= id(oldRow))) {
+                CatalogRow row = changes[change];
+                if (oldRow < size && id(oldRow) == row.id()) {
+                    newRowOfOld[oldRow++] = -1;
+                }
+                newRowOfChange[change++] = builder.add(row.id(), row.name().getBytes(StandardCharsets.UTF_8),
+                    row.priceInCents(), row.stockQuantity(), row.createdAtMicros());
+                continue;
+            }
+
+            long id = id(oldRow);
+            while (removedAt < removedIds.length && removedIds[removedAt] < id) {
+                removedAt++;
+            }
+            if (removedAt < removedIds.length && removedIds[removedAt] == id) {
+                newRowOfOld[oldRow++] = -1;
+            } else {
+                newRowOfOld[oldRow] = builder.add(id, nameBytes(oldRow), price(oldRow), stock(oldRow), createdAt(oldRow));
+                oldRow++;
+            }
+        }
+
+        int[] byPrice = merge(keptRows(byPriceAt, newRowOfOld), builder.sorted(newRowOfChange, builder::comparePrice),
+            builder::comparePrice);
+        int[] byNewest = merge(keptRows(byNewestAt, newRowOfOld), builder.sorted(newRowOfChange, builder::compareNewest),
+            builder::compareNewest);
+        return builder.build(byPrice, byNewest);
+    }
+
+    public void writeTo(FileChannel channel) throws IOException {
+        ByteBuffer view = buffer.duplicate();
+        view.clear();
+        while (view.hasRemaining()) {
+            channel.write(view);
+        }
+    }
+
+    private List<CatalogRow> collectAvailable(int from, int limit) {
+        List<CatalogRow> rows = new ArrayList<>(Math.min(limit, size - from));
+        for (int i = from; i < size && rows.size() < limit; i++) {
+            int row = byNewest(i);
+            if (stock(row) > 0) {
+                rows.add(row(row));
+            }
+        }
+        return rows;
+    }
+
+    private CatalogRow row(int row) {
+        return new CatalogRow(id(row), new String(nameBytes(row), StandardCharsets.UTF_8), price(row), stock(row),
+            createdAt(row));
+    }
+
+    private long id(int row) {
+        return buffer.getLong(HEADER_BYTES + row * Long.BYTES);
+    }
+
+    private long price(int row) {
+        return buffer.getLong(pricesAt + row * Long.BYTES);
+    }
+
+    private long createdAt(int row) {
+        return buffer.getLong(createdAtAt + row * Long.BYTES);
+    }
+
+    private int stock(int row) {
+        return buffer.getInt(stockAt + row * Integer.BYTES);
+    }
+
+    private byte[] nameBytes(int row) {
+        int from = buffer.getInt(nameOffsetsAt + row * Integer.BYTES);
+        int to = buffer.getInt(nameOffsetsAt + (row + 1) * Integer.BYTES);
+        byte[] name = new byte[to - from];
+        buffer.get(namesAt + from, name);
+        return name;
+    }
+
+    private int byPrice(int position) {
+        return buffer.getInt(byPriceAt + position * Integer.BYTES);
+    }
+
+    private int byNewest(int position) {
+        return buffer.getInt(byNewestAt + position * Integer.BYTES);
+    }
+
+    private int[] keptRows(int viewAt, int[] newRowOfOld) {
+        int[] kept = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int newRow = newRowOfOld[buffer.getInt(viewAt + i * Integer.BYTES)];
+            if (newRow >= 0) {
+                kept[count++] = newRow;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+
+    private static int[] merge(int[] left, int[] right, RowComparator comparator) {
+        int[] merged = new int[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            merged[k++] = comparator.compare(left[i], right[j]) <= 0 ? left[i++] : right[j++];
+        }
+        while (i < left.length) {
+            merged[k++] = left[i++];
+        }
+        while (j < right.length) {
+            merged[k++] = right[j++];
+        }
+        return merged;
+    }
+
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int left, int right);
+    }
+
+    static final class Builder {
+
+        private long[] ids;
+        private long[] prices;
+        private long[] createdAt;
+        private int[] stock;
+        private int[] nameOffsets;
+        private final ByteArrayOutputStream names = new ByteArrayOutputStream();
+        private int size;
+
+        Builder(int capacity) {
+            ids = new long[Math.max(capacity, 16)];
+            prices = new long[ids.length];
+            createdAt = new long[ids.length];
+            stock = new int[ids.length];
+            nameOffsets = new int[ids.length + 1];
+        }
+
+        int add(long id, byte[] name, long priceInCents, int stockQuantity, long createdAtMicros) {
+            if (size > 0 && id <= ids[size - 1]) {
+                throw new IllegalArgumentException("Catalog rows must be added in ascending id order");
+            }
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+                stock = Arrays.copyOf(stock, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+            }
+            ids[size] = id;
+            prices[size] = priceInCents;
+            createdAt[size] = createdAtMicros;
+            stock[size] = stockQuantity;
+            nameOffsets[size] = names.size();
+            names.writeBytes(name);
+            return size++;
+        }
+
+        int comparePrice(int left, int right) {
+            int byPrice = Long.compare(prices[left], prices[right]);
+            return byPrice != 0 ? byPrice : Long.compare(ids[left], ids[right]);
+        }
+
+        int compareNewest(int left, int right) {
+            int byCreatedAt = Long.compare(createdAt[right], createdAt[left]);
+            return byCreatedAt != 0 ? byCreatedAt : Long.compare(ids[right], ids[left]);
+        }
+
+        int[] sorted(int[] rows, RowComparator comparator) {
+            Integer[] boxed = Arrays.stream(rows).boxed().toArray(Integer[]::new);
+            Arrays.sort(boxed, comparator::compare);
+            return Arrays.stream(boxed).mapToInt(Integer::intValue).toArray();
+        }
+
+        CatalogSnapshot build() {
+            int[] rows = new int[size];
+            Arrays.setAll(rows, row -> row);
+            return build(sorted(rows, this::comparePrice), sorted(rows, this::compareNewest));
+        }
+
+        CatalogSnapshot build(int[] byPrice, int[] byNewest) {
+            nameOffsets[size] = names.size();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(
+                HEADER_BYTES + size * (3 * Long.BYTES + 4 * Integer.BYTES) + Integer.BYTES + names.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(size)
+                .putInt(names.size());
+            buffer.asLongBuffer().put(ids, 0, size);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            buffer.asLongBuffer().put(prices, 0, size);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            buffer.asLongBuffer().put(createdAt, 0, size);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            buffer.asIntBuffer().put(stock, 0, size);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            buffer.asIntBuffer().put(nameOffsets, 0, size + 1);
+            buffer.position(buffer.position() + (size + 1) * Integer.BYTES);
+            buffer.asIntBuffer().put(byPrice);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            buffer.asIntBuffer().put(byNewest);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            buffer.put(names.toByteArray());
+            return new CatalogSnapshot(buffer);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package bg.unisofia.fmi.electronicstore.service.catalog;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.CatalogRowView;
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductSearchDocument;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsImportedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsUpdatedEvent;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogSnapshotStore {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ProductRepository productRepository;
+
+    private final AtomicReference<CatalogSnapshot> snapshot = new AtomicReference<>(CatalogSnapshot.empty());
+    private final Set<Long> dirtyIds = ConcurrentHashMap.newKeySet();
+    // A ReentrantLock rather than synchronized, so the JDBC and file I/O done while holding it
+    // does not pin the carrier thread of a virtual thread.
+    private final Lock lock = new ReentrantLock();
+    private CatalogSnapshot persisted;
+
+    @Value("${store.catalog.snapshot.path:}")
+    private String snapshotPath = "";
+
+    @Value("${store.search.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize = 1000;
+
+    public CatalogSnapshot current() {
+        return snapshot.get();
+    }
+
+    @PostConstruct
+    public void warmStart() {
+        if (snapshotPath.isBlank() || !Files.exists(Path.of(snapshotPath))) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(Path.of(snapshotPath), StandardOpenOption.READ)) {
+            CatalogSnapshot mapped = CatalogSnapshot.wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            snapshot.set(mapped);
+            persisted = mapped;
+            log.info("Mapped catalog snapshot with {} products from {}", mapped.size(), snapshotPath);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}", snapshotPath, e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.lock();
+        try {
+            CatalogSnapshot.Builder builder =
+                new CatalogSnapshot.Builder(Math.max(snapshot.get().size(), rebuildChunkSize));
+            long afterId = 0L;
+            while (true) {
+                List<CatalogRowView> rows =
+                    productRepository.findCatalogRowsAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (CatalogRowView row : rows) {
+                    builder.add(row.getId(), row.getName().getBytes(StandardCharsets.UTF_8), toCents(row.getPrice()),
+                        row.getStockQuantity(), toMicros(row.getCreatedAt()));
+                }
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+            snapshot.set(builder.build());
+            log.info("Built catalog snapshot with {} products", snapshot.get().size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${store.catalog.snapshot.refresh-interval-ms:1000}")
+    public void refresh() {
+        lock.lock();
+        try {
+            if (dirtyIds.isEmpty()) {
+                return;
+            }
+            List<Long> ids = new ArrayList<>(dirtyIds);
+            ids.forEach(dirtyIds::remove);
+
+            List<CatalogRow> upserts = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += rebuildChunkSize) {
+                productRepository.findCatalogRowsByIds(ids.subList(from, Math.min(from + rebuildChunkSize, ids.size())))
+                    .forEach(row -> upserts.add(toRow(row)));
+            }
+            Set<Long> removed = new HashSet<>(ids);
+            upserts.forEach(row -> removed.remove(row.id()));
+            snapshot.set(snapshot.get().apply(upserts, removed));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${store.catalog.snapshot.persist-interval-ms:60000}")
+    public void persist() {
+        lock.lock();
+        try {
+            CatalogSnapshot current = snapshot.get();
+            if (snapshotPath.isBlank() || current == persisted) {
+                return;
+            }
+            Path target = Path.of(snapshotPath).toAbsolutePath();
+            Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(target.getParent());
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    current.writeTo(channel);
+                    channel.force(true);
+                }
+                Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                persisted = current;
+                log.debug("Persisted catalog snapshot with {} products to {}", current.size(), target);
+            } catch (IOException e) {
+                log.warn("Could not persist catalog snapshot to {}", target, e);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void markDirty(Collection<Long> productIds) {
+        dirtyIds.addAll(productIds);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        dirtyIds.add(event.getProductId());
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        markDirty(event.getStockDeltas().keySet());
+    }
+
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        markDirty(event.getProducts().stream().map(ProductSearchDocument::getId).collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener
+    public void onProductsUpdated(ProductsUpdatedEvent event) {
+        markDirty(event.getProductIds());
+    }
+
+    public static long toCents(BigDecimal price) {
+        return price.movePointRight(2).longValue();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    public static long toMicros(LocalDateTime createdAt) {
+        return ChronoUnit.MICROS.between(EPOCH, createdAt);
+    }
+
+    public static LocalDateTime fromMicros(long micros) {
+        return EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    private static CatalogRow toRow(CatalogRowView row) {
+        return new CatalogRow(row.getId(), row.getName(), toCents(row.getPrice()), row.getStockQuantity(),
+            toMicros(row.getCreatedAt()));
+    }
+}
@@ -0,0 +1,37 @@
+package bg.unisofia.fmi.electronicstore.service.inventory;
+
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.exception.InsufficientStockException;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "store.inventory.strategy", havingValue = "conditional")
+@RequiredArgsConstructor
+public class ConditionalUpdateStockStrategy implements StockStrategy {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public void reserve(Map<Long, Integer> quantities, Map<Long, Product> products) {
+        quantities.forEach((productId, quantity) -> {
+            if (productRepository.decrementStockIfAvailable(productId, quantity) == 0) {
+                Product product = products.get(productId);
+                throw new InsufficientStockException(productId, product.getName(), quantity, product.getStockQuantity());
+            }
+        });
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        quantities.forEach(productRepository::adjustStock);
+    }
+
+    @Override
+    public boolean appliesToProductImmediately() {
+        return true;
+    }
+}
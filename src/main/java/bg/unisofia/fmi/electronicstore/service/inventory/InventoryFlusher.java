@@ -0,0 +1,68 @@
+package bg.unisofia.fmi.electronicstore.service.inventory;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.StockLedgerEntry;
+import bg.unisofia.fmi.electronicstore.repository.OrderItemRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.service.ProductDetailCache;
+import bg.unisofia.fmi.electronicstore.service.catalog.CatalogSnapshotStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryFlusher {
+
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final ProductDetailCache productDetailCache;
+    private final CatalogSnapshotStore catalogSnapshotStore;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${store.inventory.flush-batch-size:1000}")
+    private int flushBatchSize;
+
+    @Scheduled(fixedDelayString = "${store.inventory.flush-interval-ms:500}")
+    public void flush() {
+        while (true) {
+            Map<Long, Integer> applied = transactionTemplate.execute(this::flushBatch);
+            if (applied == null || applied.isEmpty()) {
+                return;
+            }
+            applied.keySet().forEach(productDetailCache::invalidate);
+            catalogSnapshotStore.markDirty(applied.keySet());
+        }
+    }
+
+    private Map<Long, Integer> flushBatch(TransactionStatus status) {
+        List<StockLedgerEntry> entries = orderItemRepository.findUnappliedStock(PageRequest.ofSize(flushBatchSize));
+        if (entries.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> orderItemIds = entries.stream()
+            .map(StockLedgerEntry::getOrderItemId)
+            .collect(Collectors.toList());
+        if (orderItemRepository.markStockApplied(orderItemIds) != orderItemIds.size()) {
+            log.warn("Stock ledger entries were applied by another flusher, retrying on the next run");
+            status.setRollbackOnly();
+            return Map.of();
+        }
+
+        Map<Long, Integer> quantities = new TreeMap<>();
+        entries.forEach(entry -> quantities.merge(entry.getProductId(), entry.getQuantity(), Integer::sum));
+        quantities.forEach((productId, quantity) -> productRepository.adjustStock(productId, -quantity));
+        log.debug("Applied {} reserved order items to {} products", entries.size(), quantities.size());
+        return quantities;
+    }
+}
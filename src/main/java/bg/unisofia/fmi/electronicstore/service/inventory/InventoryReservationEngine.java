@@ -0,0 +1,138 @@
+package bg.unisofia.fmi.electronicstore.service.inventory;
+
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.exception.ResourceNotFoundException;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+@RequiredArgsConstructor
+public class InventoryReservationEngine {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final ProductRepository productRepository;
+
+    private final ConcurrentMap<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final ReentrantLock[] loadLocks = newLocks();
+
+    public boolean tryReserve(Long productId, int quantity) {
+        AtomicInteger counter = counter(productId);
+        int current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        counter.addAndGet(quantity);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    public int available(Long productId) {
+        return counter(productId).get();
+    }
+
+    public void adjustOnCommit(Map<Long, Integer> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(deltas);
+            return;
+        }
+
+        // A counter loaded between our commit and the adjustment would already include the new stock,
+        // so loads for these products wait until the adjustment has been applied.
+        int[] stripes = deltas.keySet().stream().mapToInt(InventoryReservationEngine::stripe).distinct().sorted().toArray();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                for (int stripe : stripes) {
+                    loadLocks[stripe].lock();
+                }
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    apply(deltas);
+                }
+                if (locked) {
+                    for (int stripe : stripes) {
+                        loadLocks[stripe].unlock();
+                    }
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            available.remove(event.getProductId());
+        }
+    }
+
+    private void apply(Map<Long, Integer> deltas) {
+        deltas.forEach((productId, delta) -> {
+            AtomicInteger counter = available.get(productId);
+            if (counter != null) {
+                counter.addAndGet(delta);
+            }
+        });
+    }
+
+    private AtomicInteger counter(Long productId) {
+        AtomicInteger counter = available.get(productId);
+        if (counter != null) {
+            return counter;
+        }
+
+        ReentrantLock lock = loadLocks[stripe(productId)];
+        lock.lock();
+        try {
+            counter = available.get(productId);
+            if (counter == null) {
+                long stock = productRepository.findAvailableStock(productId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+                counter = new AtomicInteger((int) stock);
+                available.put(productId, counter);
+            }
+            return counter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int stripe(Long productId) {
+        return Math.floorMod(productId.hashCode(), LOCK_STRIPES);
+    }
+
+    private static ReentrantLock[] newLocks() {
+        ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+}
@@ -0,0 +1,49 @@
+package bg.unisofia.fmi.electronicstore.service.inventory;
+
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.exception.ConcurrentPurchaseException;
+import bg.unisofia.fmi.electronicstore.exception.InsufficientStockException;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "store.inventory.strategy", havingValue = "optimistic")
+@RequiredArgsConstructor
+public class OptimisticStockStrategy implements StockStrategy {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public void reserve(Map<Long, Integer> quantities, Map<Long, Product> products) {
+        quantities.forEach((productId, quantity) -> {
+            Product product = products.get(productId);
+            if (product.getStockQuantity() < quantity) {
+                throw new InsufficientStockException(productId, product.getName(), quantity, product.getStockQuantity());
+            }
+
+            product.setStockQuantity(product.getStockQuantity() - quantity);
+            try {
+                productRepository.saveAndFlush(product);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                throw new ConcurrentPurchaseException(
+                    productId,
+                    "Product " + product.getName() + " was purchased by another customer. Please try again."
+                );
+            }
+        });
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        quantities.forEach(productRepository::adjustStock);
+    }
+
+    @Override
+    public boolean appliesToProductImmediately() {
+        return true;
+    }
+}
@@ -0,0 +1,43 @@
+package bg.unisofia.fmi.electronicstore.service.inventory;
+
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.exception.InsufficientStockException;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(name = "store.inventory.strategy", havingValue = "reservation", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ReservationStockStrategy implements StockStrategy {
+
+    private final InventoryReservationEngine reservationEngine;
+    private final ProductRepository productRepository;
+
+    @Override
+    public void reserve(Map<Long, Integer> quantities, Map<Long, Product> products) {
+        quantities.forEach((productId, quantity) -> {
+            if (!reservationEngine.tryReserve(productId, quantity)) {
+                throw new InsufficientStockException(
+                    productId,
+                    products.get(productId).getName(),
+                    quantity,
+                    reservationEngine.available(productId)
+                );
+            }
+        });
+    }
+
+    @Override
+    public void release(Map<Long, Integer> quantities) {
+        quantities.forEach(productRepository::adjustStock);
+        reservationEngine.adjustOnCommit(quantities);
+    }
+
+    @Override
+    public boolean appliesToProductImmediately() {
+        return false;
+    }
+}
@@ -0,0 +1,13 @@
+package bg.unisofia.fmi.electronicstore.service.inventory;
+
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import java.util.Map;
+
+public interface StockStrategy {
+
+    void reserve(Map<Long, Integer> quantities, Map<Long, Product> products);
+
+    void release(Map<Long, Integer> quantities);
+
+    boolean appliesToProductImmediately();
+}
@@ -0,0 +1,102 @@
+package bg.unisofia.fmi.electronicstore.service.sales;
+
+import bg.unisofia.fmi.electronicstore.dto.response.SalesBackfillResponse;
+import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalesBackfillService {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final OrderRepository orderRepository;
+    private final SalesRollupWriter rollupWriter;
+
+    @Value("${store.sales.backfill.workers:4}")
+    private int workers = 4;
+
+    @Value("${store.sales.backfill.chunk-size:50000}")
+    private long chunkSize = 50000;
+
+    @Value("${store.sales.rollup.batch-size:1000}")
+    private int batchSize = 1000;
+
+    public SalesBackfillResponse backfill() {
+        long started = System.nanoTime();
+        Long minId = orderRepository.findMinRollupPendingId();
+        Long maxId = orderRepository.findMaxRollupPendingId();
+        if (minId == null) {
+            return new SalesBackfillResponse(0L, 0, 0L);
+        }
+
+        List<Callable<Integer>> chunks = new ArrayList<>();
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            long chunkFrom = from;
+            long chunkTo = Math.min(from + chunkSize - 1, maxId);
+            chunks.add(() -> backfillRange(chunkFrom, chunkTo));
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(workers, chunks.size()), runnable -> {
+            Thread thread = new Thread(runnable, "sales-backfill-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long rolledUp = 0;
+        try {
+            for (Future<Integer> chunk : executor.invokeAll(chunks)) {
+                rolledUp += chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Sales backfill was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Sales backfill failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Backfilled sales rollups for {} orders in {} chunks ({} ms)", rolledUp, chunks.size(), elapsedMillis);
+        return new SalesBackfillResponse(rolledUp, chunks.size(), elapsedMillis);
+    }
+
+    private int backfillRange(long from, long to) {
+        int rolledUp = 0;
+        int failures = 0;
+        while (true) {
+            List<Long> orderIds = orderRepository.findRollupPendingIdsBetween(from, to, PageRequest.ofSize(batchSize));
+            if (orderIds.isEmpty()) {
+                return rolledUp;
+            }
+            try {
+                rolledUp += rollupWriter.rollUp(orderIds);
+                failures = 0;
+            } catch (DataAccessException e) {
+                if (++failures >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Sales backfill of orders {}..{} failed, retrying", from, to, e);
+            }
+        }
+    }
+}
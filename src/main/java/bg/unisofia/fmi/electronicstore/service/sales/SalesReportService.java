@@ -0,0 +1,58 @@
+package bg.unisofia.fmi.electronicstore.service.sales;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.SalesTotalsView;
+import bg.unisofia.fmi.electronicstore.dto.response.HourlySalesResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.SalesTotalsResponse;
+import bg.unisofia.fmi.electronicstore.repository.CategorySalesDailyRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductSalesDailyRepository;
+import bg.unisofia.fmi.electronicstore.repository.SalesHourlyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SalesReportService {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final ProductSalesDailyRepository productSalesRepository;
+    private final CategorySalesDailyRepository categorySalesRepository;
+    private final SalesHourlyRepository hourlySalesRepository;
+
+    @Transactional(readOnly = true)
+    public List<SalesTotalsResponse> getProductSales(LocalDate from, LocalDate to) {
+        LocalDate upper = to != null ? to : LocalDate.now();
+        LocalDate lower = from != null ? from : upper.minusDays(DEFAULT_DAYS - 1);
+        return toResponses(productSalesRepository.sumBetween(lower, upper));
+    }
+
+    @Transactional(readOnly = true)
+    public List<SalesTotalsResponse> getCategorySales(LocalDate from, LocalDate to) {
+        LocalDate upper = to != null ? to : LocalDate.now();
+        LocalDate lower = from != null ? from : upper.minusDays(DEFAULT_DAYS - 1);
+        return toResponses(categorySalesRepository.sumBetween(lower, upper));
+    }
+
+    @Transactional(readOnly = true)
+    public List<HourlySalesResponse> getHourlySales(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime upper = to != null ? to : LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime lower = from != null ? from : upper.minusDays(1);
+        return hourlySalesRepository.findBetween(lower, upper).stream()
+            .map(hour -> new HourlySalesResponse(hour.getSalesHour(), hour.getUnitsSold(), hour.getRevenue(),
+                hour.getOrderCount()))
+            .collect(Collectors.toList());
+    }
+
+    private List<SalesTotalsResponse> toResponses(List<SalesTotalsView> totals) {
+        return totals.stream()
+            .map(view -> new SalesTotalsResponse(view.getId(), view.getUnitsSold(), view.getRevenue(),
+                view.getOrderCount()))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,37 @@
+package bg.unisofia.fmi.electronicstore.service.sales;
+
+import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesRollupFlusher {
+
+    private final OrderRepository orderRepository;
+    private final SalesRollupWriter rollupWriter;
+
+    @Value("${store.sales.rollup.batch-size:1000}")
+    private int batchSize = 1000;
+
+    @Scheduled(fixedDelayString = "${store.sales.rollup.flush-interval-ms:1000}")
+    public void flush() {
+        List<Long> cancelled = orderRepository.findCancelledRolledUpIds(PageRequest.ofSize(batchSize));
+        if (!cancelled.isEmpty()) {
+            rollupWriter.rollBack(cancelled);
+        }
+
+        // Newest first, so fresh orders show up in the reports right away while the backfill works through history.
+        List<Long> placed = orderRepository.findRollupPendingIds(PageRequest.ofSize(batchSize));
+        if (!placed.isEmpty()) {
+            int rolledUp = rollupWriter.rollUp(placed);
+            log.debug("Rolled up {} orders and removed {} cancelled ones from sales rollups", rolledUp, cancelled.size());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package bg.unisofia.fmi.electronicstore.service.sales;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductCategoryFactsView;
+import bg.unisofia.fmi.electronicstore.dto.projection.SalesLineView;
+import bg.unisofia.fmi.electronicstore.repository.CounterUpsertTemplate;
+import bg.unisofia.fmi.electronicstore.repository.OrderItemRepository;
+import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesRollupWriter {
+
+    private static final List<String> PRODUCT_DAY_KEY = List.of("product_id", "sales_date");
+    private static final List<String> CATEGORY_DAY_KEY = List.of("category_id", "sales_date");
+    private static final List<String> HOUR_KEY = List.of("sales_hour");
+    private static final List<String> COUNTERS = List.of("units_sold", "revenue", "order_count");
+    private static final String RECORD_CATEGORIES = "INSERT INTO sales_rollup_categories " +
+        "(order_id, product_id, category_id) VALUES (?, ?, ?)";
+    private static final String FIND_CATEGORIES = "SELECT order_id, product_id, category_id " +
+        "FROM sales_rollup_categories WHERE order_id IN (:ids)";
+    private static final String RELEASE_CATEGORIES = "DELETE FROM sales_rollup_categories WHERE order_id IN (:ids)";
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final CounterUpsertTemplate counterUpserts;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public int rollUp(List<Long> orderIds) {
+        return apply(orderIds, 1);
+    }
+
+    public int rollBack(List<Long> orderIds) {
+        return apply(orderIds, -1);
+    }
+
+    private int apply(List<Long> orderIds, int sign) {
+        Integer applied = transactionTemplate.execute(status -> {
+            // Claiming the orders first makes every order count exactly once even with several writers, and
+            // a cancellation that commits in between makes the claim fail instead of rolling up a cancelled order.
+            int claimed = sign > 0 ? orderRepository.markRolledUp(orderIds) : orderRepository.markRolledBack(orderIds);
+            if (claimed != orderIds.size()) {
+                log.debug("Sales rollup lost {} of {} orders to another writer, retrying on the next run",
+                    orderIds.size() - claimed, orderIds.size());
+                status.setRollbackOnly();
+                return 0;
+            }
+            List<SalesLineView> lines = orderItemRepository.findSalesLinesByOrderIds(orderIds);
+            write(lines, sign > 0 ? recordCategories(lines) : releaseCategories(orderIds), sign);
+            return claimed;
+        });
+        return applied != null ? applied : 0;
+    }
+
+    // Categories are recorded per order line at roll-up time, so a rollback subtracts exactly what was added
+    // even if the product has moved between categories since.
+    private Map<LineKey, List<Long>> recordCategories(List<SalesLineView> lines) {
+        Set<Long> productIds = lines.stream().map(SalesLineView::getProductId).collect(Collectors.toSet());
+        Map<Long, List<Long>> categoriesByProduct = new HashMap<>();
+        if (!productIds.isEmpty()) {
+            for (ProductCategoryFactsView facts : productRepository.findCategoryFactsByIds(productIds)) {
+                if (facts.getCategoryId() != null) {
+                    categoriesByProduct.computeIfAbsent(facts.getProductId(), id -> new ArrayList<>())
+                        .add(facts.getCategoryId());
+                }
+            }
+        }
+
+        Map<LineKey, List<Long>> categoriesByLine = new HashMap<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (SalesLineView line : lines) {
+            LineKey key = new LineKey(line.getOrderId(), line.getProductId());
+            List<Long> categoryIds = categoriesByProduct.getOrDefault(line.getProductId(), List.of());
+            if (categoriesByLine.putIfAbsent(key, categoryIds) == null) {
+                for (Long categoryId : categoryIds) {
+                    rows.add(new Object[]{key.orderId(), key.productId(), categoryId});
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(RECORD_CATEGORIES, rows);
+        }
+        return categoriesByLine;
+    }
+
+    private Map<LineKey, List<Long>> releaseCategories(List<Long> orderIds) {
+        Map<LineKey, List<Long>> categoriesByLine = new HashMap<>();
+        jdbcTemplate.query(FIND_CATEGORIES, Map.of("ids", orderIds),
+            row -> {
+                categoriesByLine.computeIfAbsent(new LineKey(row.getLong("order_id"), row.getLong("product_id")),
+                    key -> new ArrayList<>()).add(row.getLong("category_id"));
+            });
+        jdbcTemplate.update(RELEASE_CATEGORIES, Map.of("ids", orderIds));
+        return categoriesByLine;
+    }
+
+    private void write(List<SalesLineView> lines, Map<LineKey, List<Long>> categoriesByLine, int sign) {
+        // Sorted keys make concurrent writers lock the rollup rows in the same order.
+        Map<DayKey, Totals> byProduct = new TreeMap<>();
+        Map<DayKey, Totals> byCategory = new TreeMap<>();
+        Map<LocalDateTime, Totals> byHour = new TreeMap<>();
+        for (SalesLineView line : lines) {
+            LocalDate day = line.getCreatedAt().toLocalDate();
+            BigDecimal revenue = line.getPriceAtPurchase().multiply(BigDecimal.valueOf(line.getQuantity()));
+            byProduct.computeIfAbsent(new DayKey(line.getProductId(), day), key -> new Totals()).add(line, revenue);
+            for (Long categoryId : categoriesByLine.getOrDefault(new LineKey(line.getOrderId(), line.getProductId()),
+                    List.of())) {
+                byCategory.computeIfAbsent(new DayKey(categoryId, day), key -> new Totals()).add(line, revenue);
+            }
+            byHour.computeIfAbsent(line.getCreatedAt().truncatedTo(ChronoUnit.HOURS), key -> new Totals())
+                .add(line, revenue);
+        }
+
+        counterUpserts.add("product_sales_daily", PRODUCT_DAY_KEY, COUNTERS, byProduct.entrySet().stream()
+            .map(entry -> entry.getValue().toRow(sign, entry.getKey().id(), entry.getKey().day()))
+            .collect(Collectors.toList()));
+        counterUpserts.add("category_sales_daily", CATEGORY_DAY_KEY, COUNTERS, byCategory.entrySet().stream()
+            .map(entry -> entry.getValue().toRow(sign, entry.getKey().id(), entry.getKey().day()))
+            .collect(Collectors.toList()));
+        counterUpserts.add("sales_hourly", HOUR_KEY, COUNTERS, byHour.entrySet().stream()
+            .map(entry -> entry.getValue().toRow(sign, entry.getKey()))
+            .collect(Collectors.toList()));
+    }
+
+    private record LineKey(long orderId, long productId) {
+    }
+
+    private record DayKey(long id, LocalDate day) implements Comparable<DayKey> {
+
+        private static final Comparator<DayKey> ORDER = Comparator.comparingLong(DayKey::id).thenComparing(DayKey::day);
+
+        @Override
+        public int compareTo(DayKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    private static final class Totals {
+
+        private long unitsSold;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private final Set<Long> orderIds = new HashSet<>();
+
+        void add(SalesLineView line, BigDecimal lineRevenue) {
+            unitsSold += line.getQuantity();
+            revenue = revenue.add(lineRevenue);
+            orderIds.add(line.getOrderId());
+        }
+
+        Object[] toRow(int sign, Object... key) {
+            Object[] row = new Object[key.length + 3];
+            System.arraycopy(key, 0, row, 0, key.length);
+            row[key.length] = sign * unitsSold;
+            row[key.length + 1] = sign > 0 ? revenue : revenue.negate();
+            row[key.length + 2] = (long) sign * orderIds.size();
+            return row;
+        }
+    }
+}
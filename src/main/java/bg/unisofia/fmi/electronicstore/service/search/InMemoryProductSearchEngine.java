@@ -0,0 +1,160 @@
+package bg.unisofia.fmi.electronicstore.service.search;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductSearchDocument;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsImportedEvent;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "store.search.engine", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+public class InMemoryProductSearchEngine implements ProductSearchEngine {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float PREFIX_MATCH_FACTOR = 0.5f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private final ProductRepository productRepository;
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Float>> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${store.search.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize = 1000;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long afterId = 0L;
+        int indexed = 0;
+        while (true) {
+            List<ProductSearchDocument> chunk =
+                productRepository.findSearchDocumentsAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunk.forEach(document -> index(document.getId(), document.getName(), document.getDescription()));
+            indexed += chunk.size();
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        log.info("Indexed {} products for search", indexed);
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getProductId());
+        } else {
+            index(event.getProductId(), event.getProduct().getName(), event.getProduct().getDescription());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.getProducts().forEach(document -> index(document.getId(), document.getName(), document.getDescription()));
+    }
+
+    public void index(Long productId, String name, String description) {
+        Map<String, Float> terms = new HashMap<>();
+        SearchTokenizer.tokenize(name).forEach(term -> terms.merge(term, NAME_WEIGHT, Float::sum));
+        SearchTokenizer.tokenize(description).forEach(term -> terms.merge(term, DESCRIPTION_WEIGHT, Float::sum));
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+            documents.put(productId, terms);
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(productId, weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query).stream().distinct().collect(Collectors.toList());
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = scoreToken(tokens.get(0));
+            for (String token : tokens.subList(1, tokens.size())) {
+                if (scores.isEmpty()) {
+                    break;
+                }
+                Map<Long, Float> tokenScores = scoreToken(token);
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((productId, score) -> score + tokenScores.get(productId));
+            }
+
+            return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Float>comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> scoreToken(String token) {
+        Map<Long, Float> scores = new HashMap<>();
+        Map<String, Map<Long, Float>> matches = token.length() < MIN_PREFIX_LENGTH
+            ? postings.subMap(token, true, token, true)
+            : postings.subMap(token, true, token + Character.MAX_VALUE, false);
+
+        for (Map.Entry<String, Map<Long, Float>> match : matches.entrySet()) {
+            String term = match.getKey();
+            float matchFactor = term.equals(token) ? 1.0f : PREFIX_MATCH_FACTOR * token.length() / term.length();
+            float idf = (float) Math.log(1.0 + (double) documents.size() / match.getValue().size());
+            match.getValue().forEach((productId, weight) ->
+                scores.merge(productId, weight * idf * matchFactor, Math::max));
+        }
+        return scores;
+    }
+
+    private void removeDocument(Long productId) {
+        Map<String, Float> terms = documents.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Float> productWeights = postings.get(term);
+            productWeights.remove(productId);
+            if (productWeights.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package bg.unisofia.fmi.electronicstore.service.search;
+
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "store.search.engine", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresProductSearchEngine implements ProductSearchEngine {
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String tsQuery = tokens.stream()
+            .map(token -> token + ":*")
+            .collect(Collectors.joining(" & "));
+        return productRepository.searchFullText(tsQuery, limit);
+    }
+}
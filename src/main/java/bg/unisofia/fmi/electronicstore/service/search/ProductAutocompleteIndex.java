@@ -0,0 +1,309 @@
+package bg.unisofia.fmi.electronicstore.service.search;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductQuantityView;
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductSearchDocument;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductSuggestionResponse;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsImportedEvent;
+import bg.unisofia.fmi.electronicstore.repository.OrderItemRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductAutocompleteIndex {
+
+    private static final int MAX_KEY_LENGTH = 32;
+    private static final int MAX_KEYS_PER_NAME = 8;
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    private static final Comparator<Suggestion> BY_POPULARITY = Comparator
+        .comparingLong(Suggestion::unitsSold).reversed()
+        .thenComparing(Suggestion::name)
+        .thenComparingLong(Suggestion::productId);
+
+    private final ProductRepository productRepository;
+    private final OrderItemRepository orderItemRepository;
+
+    private final Node root = new Node();
+    private final Map<Long, Suggestion> suggestions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${store.autocomplete.max-suggestions:10}")
+    private int maxSuggestions = 10;
+
+    @Value("${store.search.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize = 1000;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Map<Long, Long> unitsSold = orderItemRepository.sumQuantityByProduct().stream()
+            .collect(Collectors.toMap(ProductQuantityView::getProductId, ProductQuantityView::getQuantity));
+
+        long afterId = 0L;
+        while (true) {
+            List<ProductSearchDocument> chunk =
+                productRepository.findSearchDocumentsAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            chunk.forEach(document -> put(document.getId(), document.getName(), unitsSold.getOrDefault(document.getId(), 0L)));
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+        log.info("Loaded {} product names for autocomplete", suggestions.size());
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getProductId());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Suggestion current = suggestions.get(event.getProductId());
+            putLocked(event.getProductId(), event.getProduct().getName(), current != null ? current.unitsSold() : 0L);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        event.getProducts().forEach(document -> put(document.getId(), document.getName(), 0L));
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        // Only placed orders take stock away; restocks and cancellations do not make a product less popular.
+        event.getStockDeltas().forEach((productId, delta) -> {
+            if (delta < 0) {
+                addUnitsSold(productId, -delta);
+            }
+        });
+    }
+
+    public List<ProductSuggestionResponse> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return new ArrayList<>();
+            }
+            return Arrays.stream(node.top)
+                .limit(limit)
+                .map(suggestion -> new ProductSuggestionResponse(suggestion.productId(), suggestion.name(), suggestion.unitsSold()))
+                .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long productId, String name, long unitsSold) {
+        lock.writeLock().lock();
+        try {
+            putLocked(productId, name, unitsSold);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addUnitsSold(Long productId, long units) {
+        lock.writeLock().lock();
+        try {
+            Suggestion current = suggestions.get(productId);
+            if (current != null) {
+                putLocked(productId, current.name(), current.unitsSold() + units);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = suggestions.remove(productId);
+            if (previous != null) {
+                keysOf(previous.name()).forEach(key -> removeKey(key, previous));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putLocked(Long productId, String name, long unitsSold) {
+        Suggestion previous = suggestions.remove(productId);
+        if (previous != null) {
+            keysOf(previous.name()).forEach(key -> removeKey(key, previous));
+        }
+        Suggestion suggestion = new Suggestion(productId, name, unitsSold);
+        suggestions.put(productId, suggestion);
+        keysOf(name).forEach(key -> insertKey(key, suggestion));
+    }
+
+    private void insertKey(String key, Suggestion suggestion) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrCreateChild(key.charAt(i));
+            node.top = offer(node.top, suggestion);
+        }
+        node.terminals.add(suggestion);
+    }
+
+    private void removeKey(String key, Suggestion suggestion) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        path[key.length()].terminals.remove(suggestion);
+
+        for (int depth = key.length(); depth > 0; depth--) {
+            Node node = path[depth];
+            if (node.terminals.isEmpty() && node.keys.length == 0) {
+                path[depth - 1].removeChild(key.charAt(depth - 1));
+            } else if (contains(node.top, suggestion.productId())) {
+                node.top = recompute(node);
+            }
+        }
+    }
+
+    private Suggestion[] offer(Suggestion[] top, Suggestion suggestion) {
+        Map<Long, Suggestion> candidates = new LinkedHashMap<>();
+        for (Suggestion existing : top) {
+            candidates.put(existing.productId(), existing);
+        }
+        candidates.put(suggestion.productId(), suggestion);
+        return best(candidates.values());
+    }
+
+    private Suggestion[] recompute(Node node) {
+        Set<Suggestion> candidates = new LinkedHashSet<>(node.terminals);
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        return best(candidates);
+    }
+
+    private Suggestion[] best(Iterable<Suggestion> candidates) {
+        Map<Long, Suggestion> unique = new HashMap<>();
+        candidates.forEach(candidate -> unique.put(candidate.productId(), candidate));
+        return unique.values().stream()
+            .sorted(BY_POPULARITY)
+            .limit(maxSuggestions)
+            .toArray(Suggestion[]::new);
+    }
+
+    private static boolean contains(Suggestion[] top, long productId) {
+        for (Suggestion suggestion : top) {
+            if (suggestion.productId() == productId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> keysOf(String name) {
+        List<String> tokens = SearchTokenizer.tokenize(name);
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size() && i < MAX_KEYS_PER_NAME; i++) {
+            keys.add(truncate(String.join(" ", tokens.subList(i, tokens.size()))));
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static String normalize(String text) {
+        return truncate(String.join(" ", SearchTokenizer.tokenize(text)));
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private record Suggestion(long productId, String name, long unitsSold) {
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private final List<Suggestion> terminals = new ArrayList<>(1);
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node getOrCreateChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            Node child = new Node();
+            keys = insert(keys, insertAt, key);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            children = grown;
+            return child;
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                return;
+            }
+            char[] shrunkKeys = new char[keys.length - 1];
+            Node[] shrunkChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, shrunkKeys, 0, index);
+            System.arraycopy(keys, index + 1, shrunkKeys, index, keys.length - index - 1);
+            System.arraycopy(children, 0, shrunkChildren, 0, index);
+            System.arraycopy(children, index + 1, shrunkChildren, index, children.length - index - 1);
+            keys = shrunkKeys;
+            children = shrunkChildren;
+        }
+
+        private static char[] insert(char[] array, int index, char value) {
+            char[] grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, index);
+            grown[index] = value;
+            System.arraycopy(array, index, grown, index + 1, array.length - index);
+            return grown;
+        }
+    }
+}
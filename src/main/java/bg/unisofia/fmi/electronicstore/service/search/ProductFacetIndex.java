@@ -0,0 +1,354 @@
+package bg.unisofia.fmi.electronicstore.service.search;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductCategoryFactsView;
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductSearchDocument;
+import bg.unisofia.fmi.electronicstore.dto.response.PriceBucketCount;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsImportedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsUpdatedEvent;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductFacetIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ProductRepository productRepository;
+
+    // Products are numbered with dense ordinals, reusing the ordinals of deleted products,
+    // so every facet is a compact bitmap and filters combine a word at a time.
+    // Category facets are kept as raw words so they can be counted against a filter without copying them.
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] productIds = new long[INITIAL_CAPACITY];
+    private long[] pricesInCents = new long[INITIAL_CAPACITY];
+    private int[] stock = new int[INITIAL_CAPACITY];
+    private int nextOrdinal;
+
+    private final BitSet live = new BitSet();
+    private final BitSet inStock = new BitSet();
+    private final Map<Long, long[]> categories = new HashMap<>();
+    private final Map<Integer, BitSet> priceBuckets = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Value("${store.facets.price-bounds:50,100,250,500,1000,2500}")
+    private BigDecimal[] priceBounds = {BigDecimal.valueOf(50), BigDecimal.valueOf(100), BigDecimal.valueOf(250),
+        BigDecimal.valueOf(500), BigDecimal.valueOf(1000), BigDecimal.valueOf(2500)};
+
+    @Value("${store.search.rebuild-chunk-size:1000}")
+    private int rebuildChunkSize = 1000;
+
+    public record Result(long total, List<Long> productIds, Map<Long, Long> categoryCounts,
+                         List<PriceBucketCount> priceBuckets, long inStockCount) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long afterId = 0L;
+        while (true) {
+            List<Long> chunk = productRepository.findIdsAfter(afterId, PageRequest.ofSize(rebuildChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            refresh(chunk);
+            afterId = chunk.get(chunk.size() - 1);
+        }
+        log.info("Indexed facets for {} products", ordinals.size());
+    }
+
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getProductId());
+            return;
+        }
+        // The event carries the raw stock column, which still includes reservations the flusher has not applied.
+        refresh(List.of(event.getProductId()));
+    }
+
+    @TransactionalEventListener
+    public void onStockChanged(ProductStockChangedEvent event) {
+        event.getStockDeltas().forEach(this::adjustStock);
+    }
+
+    @TransactionalEventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        refresh(event.getProducts().stream().map(ProductSearchDocument::getId).collect(Collectors.toList()));
+    }
+
+    @TransactionalEventListener
+    public void onProductsUpdated(ProductsUpdatedEvent event) {
+        refresh(event.getProductIds());
+    }
+
+    public Result filter(Set<Long> categoryIds, BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly,
+                         Long beforeId, int limit) {
+        long min = minPrice != null ? cents(minPrice) : 0L;
+        long max = maxPrice != null ? cents(maxPrice) : Long.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            BitSet categoryMatch = categoryMatch(categoryIds);
+            BitSet priceMatch = priceMatch(min, max);
+            BitSet stockMatch = inStockOnly ? inStock : live;
+
+            BitSet categoryAndPrice = and(categoryMatch, priceMatch);
+            BitSet matches = and(categoryAndPrice, stockMatch);
+
+            // Each facet is counted with every filter except its own, so the counts show what picking it would give.
+            long[] withoutCategory = and(priceMatch, stockMatch).toLongArray();
+            Map<Long, Long> categoryCounts = new TreeMap<>();
+            categories.forEach((categoryId, words) -> {
+                long count = andCardinality(withoutCategory, words);
+                if (count > 0) {
+                    categoryCounts.put(categoryId, count);
+                }
+            });
+
+            long[] withoutPrice = and(categoryMatch, stockMatch).toLongArray();
+            List<PriceBucketCount> bucketCounts = new ArrayList<>();
+            for (int bucket = 0; bucket <= priceBounds.length; bucket++) {
+                BitSet bits = priceBuckets.get(bucket);
+                bucketCounts.add(new PriceBucketCount(
+                    bucket == 0 ? BigDecimal.ZERO : priceBounds[bucket - 1],
+                    bucket == priceBounds.length ? null : priceBounds[bucket],
+                    bits != null ? andCardinality(withoutPrice, bits.toLongArray()) : 0L));
+            }
+
+            categoryAndPrice.and(inStock);
+            long inStockCount = categoryAndPrice.cardinality();
+            return new Result(matches.cardinality(), newest(matches, beforeId, limit), categoryCounts, bucketCounts,
+                inStockCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long productId, BigDecimal price, int stockQuantity, Set<Long> categoryIds) {
+        lock.writeLock().lock();
+        try {
+            putLocked(productId, cents(price), stockQuantity, categoryIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal != null) {
+                clear(ordinal);
+                live.clear(ordinal);
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void adjustStock(Long productId, int delta) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal != null) {
+                stock[ordinal] += delta;
+                inStock.set(ordinal, stock[ordinal] > 0);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void refresh(Collection<Long> ids) {
+        Map<Long, ProductCategoryFactsView> facts = new LinkedHashMap<>();
+        Map<Long, Set<Long>> categoryIds = new HashMap<>();
+        for (ProductCategoryFactsView row : productRepository.findCategoryFactsByIds(ids)) {
+            facts.putIfAbsent(row.getProductId(), row);
+            Set<Long> productCategories = categoryIds.computeIfAbsent(row.getProductId(), id -> new HashSet<>());
+            if (row.getCategoryId() != null) {
+                productCategories.add(row.getCategoryId());
+            }
+        }
+
+        for (Long productId : ids) {
+            ProductCategoryFactsView row = facts.get(productId);
+            if (row == null) {
+                remove(productId);
+            } else {
+                put(productId, row.getPrice(), row.getStockQuantity(), categoryIds.get(productId));
+            }
+        }
+    }
+
+    private void putLocked(Long productId, long priceInCents, int stockQuantity, Set<Long> categoryIds) {
+        Integer existing = ordinals.get(productId);
+        if (existing != null) {
+            clear(existing);
+        }
+        int ordinal = existing != null ? existing : allocate(productId);
+
+        pricesInCents[ordinal] = priceInCents;
+        stock[ordinal] = stockQuantity;
+        live.set(ordinal);
+        inStock.set(ordinal, stockQuantity > 0);
+        priceBuckets.computeIfAbsent(bucketOf(priceInCents), bucket -> new BitSet()).set(ordinal);
+        categoryIds.forEach(categoryId -> setCategory(categoryId, ordinal));
+    }
+
+    private int allocate(Long productId) {
+        int ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+        if (ordinal == productIds.length) {
+            productIds = Arrays.copyOf(productIds, ordinal * 2);
+            pricesInCents = Arrays.copyOf(pricesInCents, ordinal * 2);
+            stock = Arrays.copyOf(stock, ordinal * 2);
+        }
+        productIds[ordinal] = productId;
+        ordinals.put(productId, ordinal);
+        return ordinal;
+    }
+
+    private void clear(int ordinal) {
+        inStock.clear(ordinal);
+        BitSet bucket = priceBuckets.get(bucketOf(pricesInCents[ordinal]));
+        if (bucket != null) {
+            bucket.clear(ordinal);
+        }
+        int word = ordinal >>> 6;
+        for (long[] words : categories.values()) {
+            if (word < words.length) {
+                words[word] &= ~(1L << ordinal);
+            }
+        }
+    }
+
+    private void setCategory(Long categoryId, int ordinal) {
+        int word = ordinal >>> 6;
+        long[] words = categories.get(categoryId);
+        if (words == null || word >= words.length) {
+            words = Arrays.copyOf(words != null ? words : new long[0], Math.max(word + 1, productIds.length >>> 6));
+            categories.put(categoryId, words);
+        }
+        words[word] |= 1L << ordinal;
+    }
+
+    private BitSet categoryMatch(Set<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return live;
+        }
+        long[] match = new long[0];
+        for (Long categoryId : categoryIds) {
+            long[] words = categories.get(categoryId);
+            if (words == null) {
+                continue;
+            }
+            if (words.length > match.length) {
+                match = Arrays.copyOf(match, words.length);
+            }
+            for (int i = 0; i < words.length; i++) {
+                match[i] |= words[i];
+            }
+        }
+        return BitSet.valueOf(match);
+    }
+
+    private BitSet priceMatch(long min, long max) {
+        if (min <= 0 && max == Long.MAX_VALUE) {
+            return live;
+        }
+        BitSet match = new BitSet();
+        for (int bucket = 0; bucket <= priceBounds.length; bucket++) {
+            BitSet bits = priceBuckets.get(bucket);
+            long from = bucket == 0 ? 0L : cents(priceBounds[bucket - 1]);
+            long to = bucket == priceBounds.length ? Long.MAX_VALUE : cents(priceBounds[bucket]) - 1;
+            if (bits == null || to < min || from > max) {
+                continue;
+            }
+            if (from >= min && to <= max) {
+                match.or(bits);
+                continue;
+            }
+            for (int ordinal = bits.nextSetBit(0); ordinal >= 0; ordinal = bits.nextSetBit(ordinal + 1)) {
+                if (pricesInCents[ordinal] >= min && pricesInCents[ordinal] <= max) {
+                    match.set(ordinal);
+                }
+            }
+        }
+        return match;
+    }
+
+    private List<Long> newest(BitSet matches, Long beforeId, int limit) {
+        long before = beforeId != null ? beforeId : Long.MAX_VALUE;
+        PriorityQueue<Long> newest = new PriorityQueue<>(limit + 1);
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            long productId = productIds[ordinal];
+            if (productId >= before || (newest.size() == limit && productId <= newest.peek())) {
+                continue;
+            }
+            newest.add(productId);
+            if (newest.size() > limit) {
+                newest.poll();
+            }
+        }
+        List<Long> result = new ArrayList<>(newest);
+        result.sort(Comparator.reverseOrder());
+        return result;
+    }
+
+    private int bucketOf(long priceInCents) {
+        int bucket = 0;
+        while (bucket < priceBounds.length && priceInCents >= cents(priceBounds[bucket])) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static BitSet and(BitSet left, BitSet right) {
+        BitSet result = (BitSet) left.clone();
+        result.and(right);
+        return result;
+    }
+
+    private static long andCardinality(long[] left, long[] right) {
+        long count = 0;
+        for (int i = 0, n = Math.min(left.length, right.length); i < n; i++) {
+            count += Long.bitCount(left[i] & right[i]);
+        }
+        return count;
+    }
+
+    private static long cents(BigDecimal price) {
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
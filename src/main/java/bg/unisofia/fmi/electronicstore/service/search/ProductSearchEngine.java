@@ -0,0 +1,8 @@
+package bg.unisofia.fmi.electronicstore.service.search;
+
+import java.util.List;
+
+public interface ProductSearchEngine {
+
+    List<Long> search(String query, int limit);
+}
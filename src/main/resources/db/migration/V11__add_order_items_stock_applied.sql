@@ -0,0 +1,4 @@
+ALTER TABLE order_items ADD COLUMN stock_applied BOOLEAN NOT NULL DEFAULT TRUE;
+ALTER TABLE order_items ALTER COLUMN stock_applied SET DEFAULT FALSE;
+
+CREATE INDEX idx_order_items_stock_pending ON order_items(id) WHERE stock_applied = FALSE;
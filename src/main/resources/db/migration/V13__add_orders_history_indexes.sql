@@ -0,0 +1,8 @@
+DROP INDEX idx_orders_user_id;
+DROP INDEX idx_orders_status;
+
+CREATE INDEX idx_orders_user_created_at_id ON orders(user_id, created_at DESC, id DESC)
+    INCLUDE (status, total_amount);
+CREATE INDEX idx_orders_status_created_at_id ON orders(status, created_at DESC, id DESC)
+    INCLUDE (user_id, total_amount);
+CREATE INDEX idx_orders_created_at_id ON orders(created_at DESC, id DESC);
@@ -0,0 +1,22 @@
+CREATE TABLE order_intake (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    shard_key BIGINT NOT NULL,
+    status VARCHAR(50) NOT NULL DEFAULT 'QUEUED',
+    order_id BIGINT,
+    error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    FOREIGN KEY (order_id) REFERENCES orders(id)
+);
+
+CREATE TABLE order_intake_items (
+    intake_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity INTEGER NOT NULL,
+    FOREIGN KEY (intake_id) REFERENCES order_intake(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_order_intake_items_intake_id ON order_intake_items(intake_id);
+CREATE INDEX idx_order_intake_queued ON order_intake(id) WHERE status = 'QUEUED';
@@ -0,0 +1 @@
+ALTER SEQUENCE products_id_seq INCREMENT BY 50;
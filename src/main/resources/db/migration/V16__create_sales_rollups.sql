@@ -0,0 +1,33 @@
+ALTER TABLE orders ADD COLUMN rolled_up BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_orders_rollup_pending ON orders(id) WHERE rolled_up = FALSE AND status <> 'CANCELLED';
+CREATE INDEX idx_orders_rollup_cancelled ON orders(id) WHERE rolled_up = TRUE AND status = 'CANCELLED';
+
+CREATE TABLE product_sales_daily (
+    product_id BIGINT NOT NULL,
+    sales_date DATE NOT NULL,
+    units_sold BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (product_id, sales_date)
+);
+
+CREATE INDEX idx_product_sales_daily_date ON product_sales_daily(sales_date);
+
+CREATE TABLE category_sales_daily (
+    category_id BIGINT NOT NULL,
+    sales_date DATE NOT NULL,
+    units_sold BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (category_id, sales_date)
+);
+
+CREATE INDEX idx_category_sales_daily_date ON category_sales_daily(sales_date);
+
+CREATE TABLE sales_hourly (
+    sales_hour TIMESTAMP PRIMARY KEY,
+    units_sold BIGINT NOT NULL DEFAULT 0,
+    revenue DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    order_count BIGINT NOT NULL DEFAULT 0
+);
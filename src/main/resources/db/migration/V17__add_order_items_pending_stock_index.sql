@@ -0,0 +1 @@
+CREATE INDEX idx_order_items_product_stock_pending ON order_items(product_id) WHERE stock_applied = FALSE;
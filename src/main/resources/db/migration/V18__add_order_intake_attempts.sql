@@ -0,0 +1 @@
+ALTER TABLE order_intake ADD COLUMN attempts INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1 @@
+ALTER TABLE order_intake ADD COLUMN lost_races INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,13 @@
+CREATE TABLE sales_rollup_categories (
+    order_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    PRIMARY KEY (order_id, product_id, category_id)
+);
+
+INSERT INTO sales_rollup_categories (order_id, product_id, category_id)
+SELECT DISTINCT oi.order_id, oi.product_id, pc.category_id
+FROM orders o
+JOIN order_items oi ON oi.order_id = o.id
+JOIN product_categories pc ON pc.product_id = oi.product_id
+WHERE o.rolled_up = TRUE;
@@ -0,0 +1,27 @@
+CREATE TABLE product_rating_summaries (
+    product_id BIGINT PRIMARY KEY,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    one_star_count BIGINT NOT NULL DEFAULT 0,
+    two_star_count BIGINT NOT NULL DEFAULT 0,
+    three_star_count BIGINT NOT NULL DEFAULT 0,
+    four_star_count BIGINT NOT NULL DEFAULT 0,
+    five_star_count BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+INSERT INTO product_rating_summaries (
+    product_id, rating_sum, rating_count,
+    one_star_count, two_star_count, three_star_count, four_star_count, five_star_count
+)
+SELECT p.id,
+       COALESCE(SUM(r.rating), 0),
+       COUNT(r.id),
+       SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END)
+FROM products p
+LEFT JOIN reviews r ON r.product_id = p.id
+GROUP BY p.id;
@@ -0,0 +1,88 @@
+package bg.unisofia.fmi.electronicstore.controller;
+
+import bg.unisofia.fmi.electronicstore.entity.Category;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.ProductRatingSummary;
+import bg.unisofia.fmi.electronicstore.repository.CategoryRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRatingSummaryRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static bg.unisofia.fmi.electronicstore.metrics.SqlStatementAssertions.assertStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductControllerStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRatingSummaryRepository ratingSummaryRepository;
+
+    private Category category;
+    private Product product;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setName("Budget " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        for (int i = 0; i < 10; i++) {
+            Product saved = new Product();
+            saved.setName("Budget product " + i);
+            saved.setPrice(BigDecimal.valueOf(100 + i));
+            saved.setStockQuantity(5);
+            saved.setCategories(new HashSet<>(Set.of(category)));
+            product = productRepository.save(saved);
+            productIds.add(product.getId());
+            ratingSummaryRepository.save(new ProductRatingSummary(product.getId()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        ratingSummaryRepository.deleteAllById(productIds);
+        productRepository.deleteAllById(productIds);
+        categoryRepository.delete(category);
+    }
+
+    @Test
+    void getAllProducts_ShouldStayWithinTwoStatements() throws Exception {
+        assertStatementCount(2, () -> mockMvc.perform(get("/api/products")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void getProductsByCategory_ShouldStayWithinTwoStatements() throws Exception {
+        assertStatementCount(2, () -> mockMvc.perform(get("/api/products/category/{id}", category.getId()))
+            .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getProductById_ShouldLoadOnceAndThenServeFromCache() throws Exception {
+        assertStatementCount(2, () -> mockMvc.perform(get("/api/products/{id}", product.getId()))
+            .andExpect(status().isOk()));
+        assertStatementCount(0, () -> mockMvc.perform(get("/api/products/{id}", product.getId()))
+            .andExpect(status().isOk()));
+    }
+}
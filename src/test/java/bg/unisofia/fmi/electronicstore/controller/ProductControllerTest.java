@@ -1,8 +1,15 @@
 package bg.unisofia.fmi.electronicstore.controller;
 
+import bg.unisofia.fmi.electronicstore.dto.request.BulkProductUpdateRequest;
 import bg.unisofia.fmi.electronicstore.dto.request.CreateProductRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.ProductUpdateItem;
+import bg.unisofia.fmi.electronicstore.dto.response.BulkProductUpdateResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductSuggestionResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductUpdateOutcome;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductUpdateResult;
 import bg.unisofia.fmi.electronicstore.exception.ResourceNotFoundException;
+import bg.unisofia.fmi.electronicstore.service.ProductBulkUpdateService;
 import bg.unisofia.fmi.electronicstore.service.ProductService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +38,9 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductBulkUpdateService productBulkUpdateService;
+
     private ProductResponse productResponse;
     private CreateProductRequest createRequest;
 
@@ -106,6 +116,17 @@ class ProductControllerTest {
             .andExpect(jsonPath("$[0].name").value("Laptop"));
     }
 
+    @Test
+    void autocomplete_ShouldReturnSuggestions() throws Exception {
+        when(productService.autocomplete("lap", null))
+            .thenReturn(List.of(new ProductSuggestionResponse(1L, "Laptop", 42L)));
+
+        mockMvc.perform(get("/api/products/autocomplete").param("prefix", "lap"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].name").value("Laptop"))
+            .andExpect(jsonPath("$[0].unitsSold").value(42));
+    }
+
     @Test
     void findByPriceRange_ShouldReturnMatchingProducts() throws Exception {
         when(productService.findByPriceRange(BigDecimal.valueOf(500), BigDecimal.valueOf(1500)))
@@ -118,6 +139,38 @@ class ProductControllerTest {
             .andExpect(jsonPath("$[0].name").value("Laptop"));
     }
 
+    @Test
+    void updateProducts_ShouldReturnOutcomePerItem() throws Exception {
+        ProductUpdateItem item = new ProductUpdateItem();
+        item.setId(1L);
+        item.setPrice(BigDecimal.valueOf(899.99));
+        BulkProductUpdateRequest request = new BulkProductUpdateRequest();
+        request.setItems(List.of(item));
+        when(productBulkUpdateService.updateProducts(request.getItems())).thenReturn(new BulkProductUpdateResponse(1L, 0L,
+            List.of(new ProductUpdateResult(1L, ProductUpdateOutcome.UPDATED, 3L, null))));
+
+        mockMvc.perform(patch("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.updated").value(1))
+            .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"));
+    }
+
+    @Test
+    void updateProducts_WithNegativeStock_ShouldReturn400() throws Exception {
+        ProductUpdateItem item = new ProductUpdateItem();
+        item.setId(1L);
+        item.setStockQuantity(-1);
+        BulkProductUpdateRequest request = new BulkProductUpdateRequest();
+        request.setItems(List.of(item));
+
+        mockMvc.perform(patch("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteProduct_ShouldReturn204() throws Exception {
         doNothing().when(productService).deleteProduct(1L);
@@ -0,0 +1,43 @@
+package bg.unisofia.fmi.electronicstore.entity;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductRatingSummaryTest {
+
+    @Test
+    void addRating_ShouldUpdateSumCountAndStarBucket() {
+        ProductRatingSummary summary = new ProductRatingSummary(1L);
+
+        summary.addRating(5);
+        summary.addRating(2);
+
+        assertEquals(7L, summary.getRatingSum());
+        assertEquals(2L, summary.getRatingCount());
+        assertEquals(1L, summary.getFiveStarCount());
+        assertEquals(1L, summary.getTwoStarCount());
+        assertEquals(0L, summary.getOneStarCount());
+        assertEquals(3.5, summary.getAverageRating());
+    }
+
+    @Test
+    void removeRating_ShouldReturnToEmptyWhenLastRatingIsRemoved() {
+        ProductRatingSummary summary = new ProductRatingSummary(1L);
+        summary.addRating(4);
+
+        summary.removeRating(4);
+
+        assertEquals(0L, summary.getRatingSum());
+        assertEquals(0L, summary.getRatingCount());
+        assertEquals(0L, summary.getFourStarCount());
+        assertNull(summary.getAverageRating());
+    }
+
+    @Test
+    void addRating_ShouldRejectRatingOutsideOneToFive() {
+        ProductRatingSummary summary = new ProductRatingSummary(1L);
+
+        assertThrows(IllegalArgumentException.class, () -> summary.addRating(6));
+        assertThrows(IllegalArgumentException.class, () -> summary.addRating(0));
+    }
+}
@@ -0,0 +1,47 @@
+package bg.unisofia.fmi.electronicstore.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(orderMetrics, "maxTaggedProducts", 1);
+    }
+
+    @Test
+    void stockRejected_WhenTagBudgetIsFull_ShouldFoldNewProductsIntoOther() {
+        orderMetrics.stockRejected(1L, "insufficient_stock");
+        orderMetrics.stockRejected(2L, "insufficient_stock");
+
+        assertEquals(1.0, rejections("1"));
+        assertEquals(1.0, rejections(OrderMetrics.OTHER_PRODUCTS));
+        assertNull(meterRegistry.find(OrderMetrics.STOCK_REJECTIONS).tag("product", "2").counter());
+    }
+
+    @Test
+    void releaseIdleProducts_ShouldFreeTheSlotForTheNextRejectedProduct() {
+        orderMetrics.stockRejected(1L, "insufficient_stock");
+        orderMetrics.releaseIdleProducts();
+        orderMetrics.stockRejected(2L, "insufficient_stock");
+        assertEquals(1.0, rejections(OrderMetrics.OTHER_PRODUCTS));
+
+        ReflectionTestUtils.setField(orderMetrics, "taggedProductIdleMs", 0L);
+        orderMetrics.releaseIdleProducts();
+        orderMetrics.stockRejected(2L, "insufficient_stock");
+
+        assertNull(meterRegistry.find(OrderMetrics.STOCK_REJECTIONS).tag("product", "1").counter());
+        assertEquals(1.0, rejections("2"));
+    }
+
+    private double rejections(String product) {
+        return meterRegistry.get(OrderMetrics.STOCK_REJECTIONS).tag("product", product).counter().count();
+    }
+}
@@ -0,0 +1,38 @@
+package bg.unisofia.fmi.electronicstore.metrics;
+
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public static StatementLog capture(Action action) throws Exception {
+        StatementLog statements = StatementCounter.open();
+        try {
+            action.run();
+        } finally {
+            StatementCounter.close(statements);
+        }
+        return statements;
+    }
+
+    public static StatementLog assertStatementCount(int expected, Action action) throws Exception {
+        StatementLog statements = capture(action);
+        assertEquals(expected, statements.getCount(),
+            () -> "Unexpected SQL statements: " + statements.getShapes());
+        assertNoRepeatedStatements(statements);
+        return statements;
+    }
+
+    public static void assertNoRepeatedStatements(StatementLog statements) {
+        Map<String, Integer> repeated = statements.repeatedShapes(2);
+        assertTrue(repeated.isEmpty(), () -> "Repeated SQL statements, likely N+1: " + repeated);
+    }
+}
@@ -0,0 +1,40 @@
+package bg.unisofia.fmi.electronicstore.metrics;
+
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementLogTest {
+
+    @Test
+    void shapeOf_ShouldIgnoreLiteralsWhitespaceAndInListLength() {
+        assertEquals(
+            StatementLog.shapeOf("select p1_0.id from products p1_0 where p1_0.id in (?, ?, ?) limit 10"),
+            StatementLog.shapeOf("select p1_0.id  from products p1_0\n where p1_0.id in (?) limit 20"));
+    }
+
+    @Test
+    void repeatedShapes_ShouldReportStatementsAtOrAboveThreshold() {
+        StatementLog log = new StatementLog();
+        log.record("select * from categories c1_0 where c1_0.id=?");
+        log.record("select * from products p1_0 where p1_0.id=?");
+        log.record("select * from products p1_0 where p1_0.id=?");
+        log.record("select * from products p1_0 where p1_0.id=?");
+
+        assertEquals(4, log.getCount());
+        assertEquals(Map.of("select * from products p1_0 where p1_0.id=?", 3), log.repeatedShapes(3));
+    }
+
+    @Test
+    void nestedLogs_ShouldBothSeeStatements() throws Exception {
+        StatementCounter counter = new StatementCounter();
+        StatementLog outer = SqlStatementAssertions.capture(() -> {
+            counter.inspect("select 1");
+            StatementLog inner = SqlStatementAssertions.capture(() -> counter.inspect("select 2"));
+            assertEquals(1, inner.getCount());
+        });
+
+        assertEquals(2, outer.getCount());
+        assertEquals(0, SqlStatementAssertions.capture(() -> { }).getCount());
+    }
+}
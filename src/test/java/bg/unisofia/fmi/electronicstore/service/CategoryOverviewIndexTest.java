@@ -0,0 +1,102 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductCategoryFactsView;
+import bg.unisofia.fmi.electronicstore.dto.response.CategoryResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsUpdatedEvent;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryOverviewIndexTest {
+
+    private static final long LAPTOPS = 10L;
+    private static final long GAMING = 20L;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private CategoryOverviewIndex overviewIndex;
+
+    @BeforeEach
+    void setUp() {
+        overviewIndex = new CategoryOverviewIndex(productRepository);
+        overviewIndex.put(1L, BigDecimal.valueOf(1500), 3, Set.of(LAPTOPS, GAMING));
+        overviewIndex.put(2L, BigDecimal.valueOf(900), 0, Set.of(LAPTOPS));
+        overviewIndex.put(3L, BigDecimal.valueOf(60), 10, Set.of(GAMING));
+    }
+
+    @Test
+    void stats_ShouldAggregateCountsAndPriceRange() {
+        assertEquals(new CategoryOverviewIndex.Stats(2, 1, BigDecimal.valueOf(900), BigDecimal.valueOf(1500)),
+            overviewIndex.stats(LAPTOPS));
+        assertEquals(new CategoryOverviewIndex.Stats(2, 2, BigDecimal.valueOf(60), BigDecimal.valueOf(1500)),
+            overviewIndex.stats(GAMING));
+        assertEquals(new CategoryOverviewIndex.Stats(0, 0, null, null), overviewIndex.stats(99L));
+    }
+
+    @Test
+    void onProductChanged_ShouldReloadProductAndMoveItBetweenCategories() {
+        when(productRepository.findCategoryFactsByIds(List.of(1L))).thenReturn(List.of(
+            new ProductCategoryFactsView(1L, BigDecimal.valueOf(1200), 3, LAPTOPS)));
+
+        overviewIndex.onProductChanged(new ProductChangedEvent(1L, product(1L, BigDecimal.valueOf(1200), 5, LAPTOPS)));
+
+        assertEquals(new CategoryOverviewIndex.Stats(2, 1, BigDecimal.valueOf(900), BigDecimal.valueOf(1200)),
+            overviewIndex.stats(LAPTOPS));
+        assertEquals(new CategoryOverviewIndex.Stats(1, 1, BigDecimal.valueOf(60), BigDecimal.valueOf(60)),
+            overviewIndex.stats(GAMING));
+    }
+
+    @Test
+    void onProductChanged_WhenDeleted_ShouldDropProduct() {
+        overviewIndex.onProductChanged(ProductChangedEvent.deleted(3L));
+
+        assertEquals(new CategoryOverviewIndex.Stats(1, 1, BigDecimal.valueOf(1500), BigDecimal.valueOf(1500)),
+            overviewIndex.stats(GAMING));
+    }
+
+    @Test
+    void onStockChanged_ShouldTrackInStockCount() {
+        overviewIndex.onStockChanged(new ProductStockChangedEvent(Map.of(1L, -3, 2L, 5)));
+
+        assertEquals(1, overviewIndex.stats(LAPTOPS).inStockCount());
+        assertEquals(1, overviewIndex.stats(GAMING).inStockCount());
+    }
+
+    @Test
+    void onProductsUpdated_ShouldReloadChangedProducts() {
+        when(productRepository.findCategoryFactsByIds(List.of(2L, 3L))).thenReturn(List.of(
+            new ProductCategoryFactsView(2L, BigDecimal.valueOf(2000), 4, LAPTOPS)));
+
+        overviewIndex.onProductsUpdated(new ProductsUpdatedEvent(List.of(2L, 3L)));
+
+        assertEquals(new CategoryOverviewIndex.Stats(2, 2, BigDecimal.valueOf(1500), BigDecimal.valueOf(2000)),
+            overviewIndex.stats(LAPTOPS));
+        assertEquals(new CategoryOverviewIndex.Stats(1, 1, BigDecimal.valueOf(1500), BigDecimal.valueOf(1500)),
+            overviewIndex.stats(GAMING));
+    }
+
+    private static ProductResponse product(Long id, BigDecimal price, int stock, Long categoryId) {
+        CategoryResponse category = new CategoryResponse();
+        category.setId(categoryId);
+        ProductResponse product = new ProductResponse();
+        product.setId(id);
+        product.setPrice(price);
+        product.setStockQuantity(stock);
+        product.setCategories(Set.of(category));
+        return product;
+    }
+}
@@ -0,0 +1,108 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.ProductRatingSummary;
+import bg.unisofia.fmi.electronicstore.mapper.CategoryMapperImpl;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapperImpl;
+import bg.unisofia.fmi.electronicstore.mapper.ProductMapperImpl;
+import bg.unisofia.fmi.electronicstore.mapper.ReviewMapperImpl;
+import bg.unisofia.fmi.electronicstore.repository.ProductRatingSummaryRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ExportService.class, ProductResponseAssembler.class, ProductMapperImpl.class, CategoryMapperImpl.class,
+    OrderMapperImpl.class, ReviewMapperImpl.class, JacksonAutoConfiguration.class})
+class ExportServiceTest {
+
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductRatingSummaryRepository ratingSummaryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Product> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            Product product = new Product();
+            product.setName("Export " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            product.setStockQuantity(i);
+            product.setCreatedAt(WINDOW_START.plusMinutes(i));
+            products.add(productRepository.save(product));
+        }
+        ProductRatingSummary summary = new ProductRatingSummary(products.get(4).getId());
+        summary.addRating(4);
+        ratingSummaryRepository.save(summary);
+        entityManager.flush();
+        ReflectionTestUtils.setField(exportService, "chunkSize", 2);
+    }
+
+    @Test
+    void exportProducts_ShouldWriteOneJsonLinePerProductAcrossChunkBoundaries() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportProducts(WINDOW_START, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            ProductResponse response = objectMapper.readValue(lines[i], ProductResponse.class);
+            assertEquals(products.get(i).getId(), response.getId());
+            assertEquals("Export " + i, response.getName());
+            assertEquals(0, BigDecimal.valueOf(10 + i).compareTo(response.getPrice()));
+            assertEquals(WINDOW_START.plusMinutes(i), response.getCreatedAt());
+        }
+        assertNull(objectMapper.readValue(lines[3], ProductResponse.class).getAverageRating());
+        assertEquals(4.0, objectMapper.readValue(lines[4], ProductResponse.class).getAverageRating());
+    }
+
+    @Test
+    void exportProducts_ShouldDetachEachWrittenChunk() throws Exception {
+        exportService.exportProducts(WINDOW_START, null, new ByteArrayOutputStream());
+
+        assertFalse(entityManager.contains(products.get(0)));
+        assertFalse(entityManager.contains(products.get(4)));
+    }
+
+    @Test
+    void exportProducts_ShouldApplyExclusiveUpperBound() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportProducts(WINDOW_START.plusMinutes(1), WINDOW_START.plusMinutes(3), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Export 1", objectMapper.readValue(lines[0], ProductResponse.class).getName());
+        assertEquals("Export 2", objectMapper.readValue(lines[1], ProductResponse.class).getName());
+    }
+}
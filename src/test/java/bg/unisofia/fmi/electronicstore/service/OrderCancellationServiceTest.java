@@ -0,0 +1,123 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.response.BulkOrderCancelResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderCancelOutcome;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderCancelResult;
+import bg.unisofia.fmi.electronicstore.entity.Order;
+import bg.unisofia.fmi.electronicstore.entity.OrderItem;
+import bg.unisofia.fmi.electronicstore.entity.OrderStatus;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.repository.UserRepository;
+import bg.unisofia.fmi.electronicstore.service.inventory.ConditionalUpdateStockStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "store.inventory.strategy=conditional")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderCancellationService.class, ConditionalUpdateStockStrategy.class})
+class OrderCancellationServiceTest {
+
+    @Autowired
+    private OrderCancellationService cancellationService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+    private Product laptop;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("cancel" + System.nanoTime() + "@test.com");
+        user.setPassword("secret123");
+        user.setFullName("Cancel User");
+        user = userRepository.save(user);
+
+        laptop = product("Laptop", 5);
+        mouse = product("Mouse", 50);
+        ReflectionTestUtils.setField(cancellationService, "chunkSize", 500);
+    }
+
+    @Test
+    void cancelOrders_ShouldCancelEachOrderOnceAndRestockSummedQuantities() {
+        Order first = order(Map.of(laptop, 1, mouse, 2));
+        Order second = order(Map.of(mouse, 3));
+        Order cancelled = order(Map.of(laptop, 4));
+        cancelled.setStatus(OrderStatus.CANCELLED);
+        orderRepository.save(cancelled);
+
+        BulkOrderCancelResponse response = cancellationService.cancelOrders(
+            List.of(first.getId(), second.getId(), cancelled.getId(), first.getId(), Long.MAX_VALUE));
+
+        assertEquals(2, response.getCancelled());
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of(OrderCancelOutcome.CANCELLED, OrderCancelOutcome.CANCELLED,
+                OrderCancelOutcome.ALREADY_CANCELLED, OrderCancelOutcome.NOT_FOUND),
+            response.getResults().stream().map(OrderCancelResult::getOutcome).toList());
+        assertEquals(Map.of(laptop.getId(), 1, mouse.getId(), 5), response.getRestocked());
+
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(first.getId()).orElseThrow().getStatus());
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(second.getId()).orElseThrow().getStatus());
+        assertEquals(6, productRepository.findById(laptop.getId()).orElseThrow().getStockQuantity());
+        assertEquals(55, productRepository.findById(mouse.getId()).orElseThrow().getStockQuantity());
+        assertEquals(1L, productRepository.findById(mouse.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void cancelOrders_ShouldNotRestockTwiceWhenRepeated() {
+        ReflectionTestUtils.setField(cancellationService, "chunkSize", 1);
+        Order first = order(Map.of(mouse, 2));
+        Order second = order(Map.of(mouse, 3));
+
+        cancellationService.cancelOrders(List.of(first.getId(), second.getId()));
+        BulkOrderCancelResponse repeated = cancellationService.cancelOrders(List.of(first.getId(), second.getId()));
+
+        assertEquals(0, repeated.getCancelled());
+        assertEquals(Map.of(), repeated.getRestocked());
+        assertEquals(55, productRepository.findById(mouse.getId()).orElseThrow().getStockQuantity());
+    }
+
+    private Product product(String name, int stock) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(BigDecimal.TEN);
+        product.setStockQuantity(stock);
+        return productRepository.save(product);
+    }
+
+    private Order order(Map<Product, Integer> quantities) {
+        Order order = new Order();
+        order.setUser(user);
+        quantities.forEach((product, quantity) -> {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            item.setPriceAtPurchase(product.getPrice());
+            order.getItems().add(item);
+        });
+        order.recalculateTotal();
+        return orderRepository.save(order);
+    }
+}
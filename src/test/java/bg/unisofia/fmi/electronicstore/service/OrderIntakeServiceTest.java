@@ -0,0 +1,224 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.request.CreateOrderRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.OrderItemRequest;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderIntakeResponse;
+import bg.unisofia.fmi.electronicstore.entity.OrderIntake;
+import bg.unisofia.fmi.electronicstore.entity.OrderIntakeStatus;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.exception.ConcurrentPurchaseException;
+import bg.unisofia.fmi.electronicstore.exception.ResourceNotFoundException;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapper;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapperImpl;
+import bg.unisofia.fmi.electronicstore.metrics.OrderMetrics;
+import bg.unisofia.fmi.electronicstore.repository.OrderIntakeRepository;
+import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.repository.UserRepository;
+import bg.unisofia.fmi.electronicstore.service.inventory.ConditionalUpdateStockStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "store.inventory.strategy=conditional")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderIntakeService.class, OrderService.class, ConditionalUpdateStockStrategy.class, OrderMapperImpl.class,
+    OrderMetrics.class, SimpleMeterRegistry.class})
+class OrderIntakeServiceTest {
+
+    @Autowired
+    private OrderIntakeService intakeService;
+
+    @Autowired
+    private OrderIntakeRepository intakeRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("queued" + System.nanoTime() + "@test.com");
+        user.setPassword("secret123");
+        user.setFullName("Queued Buyer");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void process_ShouldPlaceOrderExactlyOnce() {
+        Product product = product(5);
+        OrderIntakeResponse queued = intakeService.enqueue(request(product, 2));
+        assertEquals(OrderIntakeStatus.QUEUED, queued.getStatus());
+        assertEquals("/api/orders/intake/" + queued.getId(), queued.getStatusUrl());
+
+        intakeService.process(queued.getId());
+        intakeService.process(queued.getId());
+
+        OrderIntakeResponse placed = intakeService.getIntake(queued.getId());
+        assertEquals(OrderIntakeStatus.PLACED, placed.getStatus());
+        assertNotNull(placed.getOrderId());
+        assertTrue(orderRepository.existsById(placed.getOrderId()));
+        assertEquals(1, orderRepository.findByUserId(user.getId()).size());
+        assertEquals(3, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void process_WithInsufficientStock_ShouldRejectIntake() {
+        Product product = product(1);
+        OrderIntakeResponse queued = intakeService.enqueue(request(product, 2));
+
+        intakeService.process(queued.getId());
+
+        OrderIntakeResponse rejected = intakeService.getIntake(queued.getId());
+        assertEquals(OrderIntakeStatus.REJECTED, rejected.getStatus());
+        assertNull(rejected.getOrderId());
+        assertNotNull(rejected.getError());
+        assertEquals(1, productRepository.findById(product.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void enqueue_WithUnknownProduct_ShouldThrowException() {
+        Product product = new Product();
+        product.setId(Long.MAX_VALUE);
+
+        assertThrows(ResourceNotFoundException.class, () -> intakeService.enqueue(request(product, 1)));
+    }
+
+    @Test
+    void drain_ShouldPlaceEveryQueuedOrderAcrossShards() {
+        int workers = 3;
+        List<Long> intakeIds = new ArrayList<>();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            products.add(product(10));
+        }
+        for (int i = 0; i < 12; i++) {
+            intakeIds.add(intakeService.enqueue(request(products.get(i % products.size()), 1)).getId());
+        }
+
+        OrderIntakeWorker worker = new OrderIntakeWorker(intakeRepository, intakeService);
+        ReflectionTestUtils.setField(worker, "workers", workers);
+        ReflectionTestUtils.setField(worker, "batchSize", 5);
+        for (int shard = 0; shard < workers; shard++) {
+            worker.drain(shard);
+        }
+
+        intakeIds.forEach(id -> assertEquals(OrderIntakeStatus.PLACED, intakeService.getIntake(id).getStatus()));
+        products.forEach(product ->
+            assertEquals(8, productRepository.findById(product.getId()).orElseThrow().getStockQuantity()));
+    }
+
+    @Test
+    void process_WithUnexpectedFailure_ShouldCountAttemptsAndFailIntake() {
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrder(any())).thenThrow(new IllegalStateException("boom"));
+        OrderIntakeService failingService = intakeService(orderService);
+        ReflectionTestUtils.setField(failingService, "maxAttempts", 2);
+        Long intakeId = intakeService.enqueue(request(product(5), 1)).getId();
+
+        assertFalse(failingService.process(intakeId));
+        OrderIntake retried = intakeRepository.findById(intakeId).orElseThrow();
+        assertEquals(OrderIntakeStatus.QUEUED, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+
+        assertTrue(failingService.process(intakeId));
+        OrderIntake failed = intakeRepository.findById(intakeId).orElseThrow();
+        assertEquals(OrderIntakeStatus.FAILED, failed.getStatus());
+        assertEquals(2, failed.getAttempts());
+        assertTrue(failed.getError().contains("boom"));
+        assertNotNull(failed.getProcessedAt());
+    }
+
+    @Test
+    void process_WhenIntakeKeepsLosingStockRaces_ShouldFailItAtLostRaceCap() {
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrder(any())).thenThrow(new ConcurrentPurchaseException(1L, "lost"));
+        OrderIntakeService racingService = intakeService(orderService);
+        ReflectionTestUtils.setField(racingService, "maxLostRaces", 3);
+        Long intakeId = intakeService.enqueue(request(product(5), 1)).getId();
+
+        assertFalse(racingService.process(intakeId));
+        assertFalse(racingService.process(intakeId));
+        assertTrue(racingService.process(intakeId));
+
+        OrderIntake failed = intakeRepository.findById(intakeId).orElseThrow();
+        assertEquals(OrderIntakeStatus.FAILED, failed.getStatus());
+        assertEquals(3, failed.getLostRaces());
+        assertEquals(0, failed.getAttempts());
+        assertTrue(failed.getError().startsWith("Lost 3 stock races"));
+    }
+
+    @Test
+    void drain_WhenEveryIntakeLosesItsRace_ShouldStopUntilNextRun() {
+        OrderService orderService = mock(OrderService.class);
+        when(orderService.createOrder(any())).thenThrow(new ConcurrentPurchaseException(1L, "lost"));
+        Product product = product(5);
+        List<Long> intakeIds = List.of(
+            intakeService.enqueue(request(product, 1)).getId(),
+            intakeService.enqueue(request(product, 1)).getId());
+
+        OrderIntakeWorker worker = new OrderIntakeWorker(intakeRepository, intakeService(orderService));
+        ReflectionTestUtils.setField(worker, "workers", 1);
+        ReflectionTestUtils.setField(worker, "batchSize", 1);
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> worker.drain(0));
+
+        intakeIds.forEach(id -> {
+            OrderIntake intake = intakeRepository.findById(id).orElseThrow();
+            assertEquals(OrderIntakeStatus.QUEUED, intake.getStatus());
+            assertEquals(0, intake.getAttempts());
+        });
+    }
+
+    private OrderIntakeService intakeService(OrderService orderService) {
+        return new OrderIntakeService(intakeRepository, userRepository, productRepository, orderService, orderMapper,
+            transactionTemplate);
+    }
+
+    private Product product(int stock) {
+        Product product = new Product();
+        product.setName("Queued product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStockQuantity(stock);
+        return productRepository.save(product);
+    }
+
+    private CreateOrderRequest request(Product product, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(user.getId());
+        request.setItems(List.of(item));
+        return request;
+    }
+}
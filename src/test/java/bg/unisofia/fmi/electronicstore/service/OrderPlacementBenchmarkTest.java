@@ -0,0 +1,106 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.request.CreateOrderRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.OrderItemRequest;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapperImpl;
+import bg.unisofia.fmi.electronicstore.metrics.OrderMetrics;
+import bg.unisofia.fmi.electronicstore.service.inventory.ConditionalUpdateStockStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "store.inventory.strategy=conditional"
+})
+@Import({OrderService.class, ConditionalUpdateStockStrategy.class, OrderMapperImpl.class, OrderMetrics.class,
+    SimpleMeterRegistry.class})
+class OrderPlacementBenchmarkTest {
+
+    private static final int ORDERS_PER_SIZE = 20;
+    private static final long FIXED_STATEMENTS_PER_ORDER = 6;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 40})
+    void createOrder_ShouldIssueOneStockUpdatePerProductAndBatchEverythingElse(int cartSize) {
+        CreateOrderRequest request = seedCart(cartSize);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        placeOrder(request);
+
+        long maxStatements = 0;
+        long totalNanos = 0;
+        for (int i = 0; i < ORDERS_PER_SIZE; i++) {
+            entityManager.clear();
+            statistics.clear();
+            long started = System.nanoTime();
+            placeOrder(request);
+            totalNanos += System.nanoTime() - started;
+            maxStatements = Math.max(maxStatements, statistics.getPrepareStatementCount());
+        }
+
+        log.info("Cart of {} items: at most {} statements, {} us per order",
+            cartSize, maxStatements, totalNanos / ORDERS_PER_SIZE / 1000);
+        assertTrue(maxStatements <= cartSize + FIXED_STATEMENTS_PER_ORDER,
+            "Expected at most " + (cartSize + FIXED_STATEMENTS_PER_ORDER) + " statements but was " + maxStatements);
+    }
+
+    private void placeOrder(CreateOrderRequest request) {
+        orderService.createOrder(request);
+        entityManager.flush();
+    }
+
+    private CreateOrderRequest seedCart(int cartSize) {
+        User user = new User();
+        user.setEmail("buyer" + cartSize + "@test.com");
+        user.setPassword("secret123");
+        user.setFullName("Buyer");
+        entityManager.persist(user);
+
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < cartSize; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            product.setStockQuantity(1000);
+            entityManager.persist(product);
+
+            OrderItemRequest item = new OrderItemRequest();
+            item.setProductId(product.getId());
+            item.setQuantity(1);
+            items.add(item);
+        }
+        entityManager.flush();
+        // Request order should not matter: stock rows are always locked in id order.
+        Collections.reverse(items);
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(user.getId());
+        request.setItems(items);
+        return request;
+    }
+}
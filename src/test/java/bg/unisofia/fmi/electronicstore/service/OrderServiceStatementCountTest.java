@@ -0,0 +1,153 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.response.CursorPageResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderResponse;
+import bg.unisofia.fmi.electronicstore.entity.Order;
+import bg.unisofia.fmi.electronicstore.entity.OrderItem;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapper;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapperImpl;
+import bg.unisofia.fmi.electronicstore.metrics.OrderMetrics;
+import bg.unisofia.fmi.electronicstore.metrics.SqlStatementAssertions;
+import bg.unisofia.fmi.electronicstore.metrics.StatementLog;
+import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
+import bg.unisofia.fmi.electronicstore.service.inventory.ConditionalUpdateStockStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import static bg.unisofia.fmi.electronicstore.metrics.SqlStatementAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+@DataJpaTest(properties = "store.inventory.strategy=conditional")
+@Import({OrderService.class, ConditionalUpdateStockStrategy.class, OrderMapperImpl.class, OrderMetrics.class,
+    SimpleMeterRegistry.class})
+class OrderServiceStatementCountTest {
+
+    private static final int ORDER_COUNT = 200;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderMapper orderMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Long firstOrderId;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("history@test.com");
+        user.setPassword("secret123");
+        user.setFullName("History User");
+        entityManager.persist(user);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(BigDecimal.valueOf(10 + i));
+            product.setStockQuantity(1000);
+            entityManager.persist(product);
+            products.add(product);
+        }
+
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order();
+            order.setUser(user);
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(products.get((i + j) % products.size()));
+                item.setQuantity(1 + j);
+                item.setPriceAtPurchase(item.getProduct().getPrice());
+                order.getItems().add(item);
+            }
+            order.recalculateTotal();
+            entityManager.persist(order);
+            if (firstOrderId == null) {
+                firstOrderId = order.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getOrdersByUser_ShouldUseTwoStatementsRegardlessOfHistorySize() throws Exception {
+        List<List<OrderResponse>> result = new ArrayList<>();
+        StatementLog entityPath = SqlStatementAssertions.capture(() -> result.add(
+            orderRepository.findByUserId(user.getId()).stream()
+                .map(orderMapper::toResponse)
+                .collect(Collectors.toList())));
+        entityManager.clear();
+
+        StatementLog projectionPath = assertStatementCount(2,
+            () -> result.add(orderService.getOrdersByUser(user.getId())));
+
+        log.info("Order history of {} orders: {} statements through entities, {} through projections",
+            ORDER_COUNT, entityPath.getCount(), projectionPath.getCount());
+        assertTrue(entityPath.getCount() > ORDER_COUNT);
+        assertEquals(ids(result.get(0)), ids(result.get(1)));
+        assertEquals(ORDER_COUNT, result.get(1).size());
+        assertTrue(result.get(1).stream().allMatch(order -> order.getItems().size() == ITEMS_PER_ORDER));
+    }
+
+    @Test
+    void getOrderById_ShouldUseTwoStatements() throws Exception {
+        List<OrderResponse> result = new ArrayList<>();
+
+        assertStatementCount(2, () -> result.add(orderService.getOrderById(firstOrderId)));
+
+        assertEquals("History User", result.get(0).getUserFullName());
+        assertEquals(ITEMS_PER_ORDER, result.get(0).getItems().size());
+        assertNotNull(result.get(0).getItems().get(0).getProductName());
+    }
+
+    @Test
+    void getAllOrders_ShouldUseTwoStatements() throws Exception {
+        assertStatementCount(2, () -> assertEquals(ORDER_COUNT, orderService.getAllOrders().size()));
+    }
+
+    @Test
+    void getOrderHistory_ShouldWalkEveryOrderOnceUsingTwoStatementsPerPage() throws Exception {
+        Set<Long> seen = new HashSet<>();
+        List<CursorPageResponse<OrderResponse>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            String current = cursor;
+            assertStatementCount(2, () -> pages.add(orderService.getOrderHistory(user.getId(), null, null, null,
+                current, 50)));
+            CursorPageResponse<OrderResponse> page = pages.get(pages.size() - 1);
+            page.getItems().forEach(order -> assertTrue(seen.add(order.getId())));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(ORDER_COUNT, seen.size());
+        assertEquals(ORDER_COUNT / 50, pages.size());
+    }
+
+    private static List<Long> ids(List<OrderResponse> orders) {
+        return orders.stream().map(OrderResponse::getId).sorted().collect(Collectors.toList());
+    }
+}
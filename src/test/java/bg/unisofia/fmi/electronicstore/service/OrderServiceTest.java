@@ -1,27 +1,44 @@
 package bg.unisofia.fmi.electronicstore.service;
 
+import bg.unisofia.fmi.electronicstore.dto.projection.OrderLineView;
+import bg.unisofia.fmi.electronicstore.dto.projection.OrderSummaryView;
 import bg.unisofia.fmi.electronicstore.dto.request.CreateOrderRequest;
 import bg.unisofia.fmi.electronicstore.dto.request.OrderItemRequest;
+import bg.unisofia.fmi.electronicstore.dto.response.CursorPageResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.OrderItemResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.OrderResponse;
 import bg.unisofia.fmi.electronicstore.entity.*;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
 import bg.unisofia.fmi.electronicstore.exception.InsufficientStockException;
+import bg.unisofia.fmi.electronicstore.exception.InvalidCursorException;
 import bg.unisofia.fmi.electronicstore.exception.ResourceNotFoundException;
 import bg.unisofia.fmi.electronicstore.mapper.OrderMapper;
+import bg.unisofia.fmi.electronicstore.metrics.OrderMetrics;
+import bg.unisofia.fmi.electronicstore.repository.OrderItemRepository;
 import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
 import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
 import bg.unisofia.fmi.electronicstore.repository.UserRepository;
+import bg.unisofia.fmi.electronicstore.service.inventory.StockStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +47,9 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
     @Mock
     private UserRepository userRepository;
 
@@ -39,6 +59,17 @@ class OrderServiceTest {
     @Mock
     private OrderMapper orderMapper;
 
+    @Mock
+    private StockStrategy stockStrategy;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetrics orderMetrics = new OrderMetrics(meterRegistry);
+
     @InjectMocks
     private OrderService orderService;
 
@@ -46,6 +77,7 @@ class OrderServiceTest {
     private Product product;
     private Order order;
     private OrderResponse orderResponse;
+    private OrderSummaryView orderSummary;
 
     @BeforeEach
     void setUp() {
@@ -71,6 +103,8 @@ class OrderServiceTest {
         orderResponse.setId(1L);
         orderResponse.setUserId(1L);
         orderResponse.setStatus(OrderStatus.PENDING);
+
+        orderSummary = new OrderSummaryView(1L, 1L, "Test User", OrderStatus.PENDING, BigDecimal.ZERO, null);
     }
 
     @Test
@@ -84,17 +118,18 @@ class OrderServiceTest {
         request.setItems(List.of(itemRequest));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
-        when(orderRepository.save(any(Order.class))).thenReturn(order);
+        when(productRepository.findByIdInOrderByIdAsc(any())).thenReturn(List.of(product));
+        when(orderRepository.saveAndFlush(any(Order.class))).thenReturn(order);
         when(orderMapper.toResponse(any(Order.class))).thenReturn(orderResponse);
 
         OrderResponse result = orderService.createOrder(request);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
-        verify(productRepository).save(any(Product.class));
-        verify(orderRepository).save(any(Order.class));
+        verify(stockStrategy).reserve(Map.of(1L, 2), Map.of(1L, product));
+        verify(orderRepository).saveAndFlush(any(Order.class));
+        verify(eventPublisher).publishEvent(any(ProductStockChangedEvent.class));
+        assertEquals(1, meterRegistry.get(OrderMetrics.PHASE_TIMER).tag("phase", "stock_check").timer().count());
     }
 
     @Test
@@ -108,9 +143,30 @@ class OrderServiceTest {
         request.setItems(List.of(itemRequest));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findByIdInOrderByIdAsc(any())).thenReturn(List.of(product));
+        doThrow(new InsufficientStockException(1L, "Phone", 10, 5)).when(stockStrategy).reserve(any(), any());
 
         assertThrows(InsufficientStockException.class, () -> orderService.createOrder(request));
+        verify(orderRepository, never()).saveAndFlush(any(Order.class));
+        assertEquals(1.0, meterRegistry.get(OrderMetrics.STOCK_REJECTIONS)
+            .tags("product", "1", "reason", "insufficient_stock").counter().count());
+    }
+
+    @Test
+    void createOrder_WithNonExistentProduct_ShouldThrowException() {
+        OrderItemRequest itemRequest = new OrderItemRequest();
+        itemRequest.setProductId(99L);
+        itemRequest.setQuantity(1);
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(1L);
+        request.setItems(List.of(itemRequest));
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(productRepository.findByIdInOrderByIdAsc(any())).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.createOrder(request));
+        verify(stockStrategy, never()).reserve(any(), any());
     }
 
     @Test
@@ -132,42 +188,95 @@ class OrderServiceTest {
         order.getItems().add(orderItem);
 
         when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(productRepository.save(any(Product.class))).thenReturn(product);
         when(orderRepository.save(any(Order.class))).thenReturn(order);
         when(orderMapper.toResponse(any(Order.class))).thenReturn(orderResponse);
 
         OrderResponse result = orderService.updateOrderStatus(1L, OrderStatus.CANCELLED);
 
         assertNotNull(result);
-        verify(productRepository).save(any(Product.class));
+        verify(stockStrategy).release(Map.of(1L, 2));
     }
 
     @Test
-    void getOrderById_WhenExists_ShouldReturnOrder() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
-        when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+    void getOrderById_WhenExists_ShouldReturnOrderWithItems() {
+        OrderLineView line = new OrderLineView(1L, 10L, 1L, "Phone", 2, BigDecimal.valueOf(499.99));
+        OrderItemResponse itemResponse = new OrderItemResponse();
+        itemResponse.setProductName("Phone");
+
+        when(orderRepository.findSummaryById(1L)).thenReturn(Optional.of(orderSummary));
+        when(orderItemRepository.findLinesByOrderIds(List.of(1L))).thenReturn(List.of(line));
+        when(orderMapper.toResponse(orderSummary)).thenReturn(orderResponse);
+        when(orderMapper.toOrderItemResponse(line)).thenReturn(itemResponse);
 
         OrderResponse result = orderService.getOrderById(1L);
 
         assertNotNull(result);
         assertEquals(1L, result.getId());
+        assertEquals(List.of(itemResponse), result.getItems());
+        verify(orderRepository, never()).findById(any());
     }
 
     @Test
     void getOrderById_WhenNotExists_ShouldThrowException() {
-        when(orderRepository.findById(99L)).thenReturn(Optional.empty());
+        when(orderRepository.findSummaryById(99L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderById(99L));
     }
 
     @Test
     void getOrdersByUser_ShouldReturnUserOrders() {
-        when(orderRepository.findByUserId(1L)).thenReturn(List.of(order));
-        when(orderMapper.toResponse(order)).thenReturn(orderResponse);
+        when(orderRepository.findSummariesByUserId(1L)).thenReturn(List.of(orderSummary));
+        when(orderItemRepository.findLinesByOrderIds(List.of(1L))).thenReturn(List.of());
+        when(orderMapper.toResponse(orderSummary)).thenReturn(orderResponse);
 
         List<OrderResponse> result = orderService.getOrdersByUser(1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
     }
+
+    @Test
+    void getOrderHistory_WhenMoreResultsExist_ShouldReturnNextCursor() {
+        ReflectionTestUtils.setField(orderService, "maxPageSize", 100);
+        LocalDateTime placedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        orderSummary.setCreatedAt(placedAt);
+        OrderSummaryView older = new OrderSummaryView(2L, 1L, "Test User", OrderStatus.PENDING, BigDecimal.ZERO,
+            placedAt.minusDays(1));
+
+        when(orderRepository.findUserHistoryByStatus(eq(1L), eq(OrderStatus.PENDING), any(LocalDateTime.class),
+            any(LocalDateTime.class), any(Pageable.class))).thenReturn(List.of(orderSummary, older));
+        when(orderItemRepository.findLinesByOrderIds(List.of(1L))).thenReturn(List.of());
+        when(orderMapper.toResponse(orderSummary)).thenReturn(orderResponse);
+
+        CursorPageResponse<OrderResponse> page =
+            orderService.getOrderHistory(1L, OrderStatus.PENDING, null, null, null, 1);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(KeysetCursor.encode("orders:1:PENDING:null:null", placedAt, 1L), page.getNextCursor());
+    }
+
+    @Test
+    void getOrderPage_WithStatusAndCursor_ShouldContinueAfterLastKey() {
+        ReflectionTestUtils.setField(orderService, "maxPageSize", 100);
+        LocalDateTime placedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        String cursor = KeysetCursor.encode("orders:SHIPPED:null:null", placedAt, 7L);
+
+        when(orderRepository.findNewestFirstByStatusAfter(eq(OrderStatus.SHIPPED), any(LocalDateTime.class),
+            any(LocalDateTime.class), eq(placedAt), eq(7L), any(Pageable.class))).thenReturn(List.of());
+
+        CursorPageResponse<OrderResponse> page =
+            orderService.getOrderPage(OrderStatus.SHIPPED, null, null, cursor, 10);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        verify(orderItemRepository, never()).findLinesByOrderIds(any());
+    }
+
+    @Test
+    void getOrderHistory_WithCursorFromOtherFilter_ShouldThrowException() {
+        String cursor = KeysetCursor.encode("orders:1:SHIPPED:null:null", LocalDateTime.now(), 7L);
+
+        assertThrows(InvalidCursorException.class,
+            () -> orderService.getOrderHistory(1L, OrderStatus.PENDING, null, null, cursor, 10));
+    }
 }
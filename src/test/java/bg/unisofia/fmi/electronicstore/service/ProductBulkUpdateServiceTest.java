@@ -0,0 +1,124 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.request.ProductUpdateItem;
+import bg.unisofia.fmi.electronicstore.dto.response.BulkProductUpdateResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductUpdateOutcome;
+import bg.unisofia.fmi.electronicstore.dto.response.ProductUpdateResult;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.service.inventory.InventoryReservationEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductBulkUpdateService.class, InventoryReservationEngine.class, ProductDetailCache.class})
+class ProductBulkUpdateServiceTest {
+
+    @Autowired
+    private ProductBulkUpdateService bulkUpdateService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryReservationEngine reservationEngine;
+
+    @Autowired
+    private ProductDetailCache productDetailCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkUpdateService, "chunkSize", 500);
+    }
+
+    @Test
+    void updateProducts_ShouldApplyPartialChangesAndReportEachItem() {
+        Product laptop = product(BigDecimal.valueOf(1000), 5);
+        Product mouse = product(BigDecimal.valueOf(20), 50);
+
+        BulkProductUpdateResponse response = bulkUpdateService.updateProducts(List.of(
+            item(laptop.getId(), BigDecimal.valueOf(899.99), null, 0L),
+            item(mouse.getId(), null, 40, null),
+            item(mouse.getId(), null, 30, 0L),
+            item(Long.MAX_VALUE, BigDecimal.ONE, null, null)));
+
+        assertEquals(2, response.getUpdated());
+        assertEquals(2, response.getFailed());
+        assertEquals(List.of(ProductUpdateOutcome.UPDATED, ProductUpdateOutcome.UPDATED,
+                ProductUpdateOutcome.VERSION_CONFLICT, ProductUpdateOutcome.NOT_FOUND),
+            response.getResults().stream().map(ProductUpdateResult::getOutcome).toList());
+        assertEquals(1L, response.getResults().get(2).getVersion());
+
+        Product updatedLaptop = productRepository.findById(laptop.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(899.99).compareTo(updatedLaptop.getPrice()));
+        assertEquals(5, updatedLaptop.getStockQuantity());
+        assertEquals(1L, updatedLaptop.getVersion());
+
+        Product updatedMouse = productRepository.findById(mouse.getId()).orElseThrow();
+        assertEquals(0, BigDecimal.valueOf(20).compareTo(updatedMouse.getPrice()));
+        assertEquals(40, updatedMouse.getStockQuantity());
+    }
+
+    @Test
+    void updateProducts_ShouldApplyRepeatedIdsInOrderAcrossChunks() {
+        ReflectionTestUtils.setField(bulkUpdateService, "chunkSize", 2);
+        Product product = product(BigDecimal.TEN, 1);
+
+        List<ProductUpdateItem> items = new ArrayList<>();
+        for (long version = 0; version < 5; version++) {
+            items.add(item(product.getId(), null, (int) version + 10, version));
+        }
+        BulkProductUpdateResponse response = bulkUpdateService.updateProducts(items);
+
+        assertEquals(5, response.getUpdated());
+        Product updated = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(14, updated.getStockQuantity());
+        assertEquals(5L, updated.getVersion());
+    }
+
+    @Test
+    void updateProducts_ShouldAdjustReservedStockAndInvalidateCachedDetail() {
+        Product product = product(BigDecimal.TEN, 5);
+        assertTrue(reservationEngine.tryReserve(product.getId(), 2));
+        ProductResponse stale = new ProductResponse();
+        stale.setId(product.getId());
+        productDetailCache.get(product.getId(), id -> stale);
+
+        bulkUpdateService.updateProducts(List.of(item(product.getId(), null, 20, null)));
+
+        assertEquals(18, reservationEngine.available(product.getId()));
+        ProductResponse reloaded = new ProductResponse();
+        assertSame(reloaded, productDetailCache.get(product.getId(), id -> reloaded));
+    }
+
+    private Product product(BigDecimal price, int stock) {
+        Product product = new Product();
+        product.setName("Bulk " + System.nanoTime());
+        product.setPrice(price);
+        product.setStockQuantity(stock);
+        product.setCategories(new HashSet<>());
+        return productRepository.save(product);
+    }
+
+    private static ProductUpdateItem item(Long id, BigDecimal price, Integer stockQuantity, Long expectedVersion) {
+        ProductUpdateItem item = new ProductUpdateItem();
+        item.setId(id);
+        item.setPrice(price);
+        item.setStockQuantity(stockQuantity);
+        item.setExpectedVersion(expectedVersion);
+        return item;
+    }
+}
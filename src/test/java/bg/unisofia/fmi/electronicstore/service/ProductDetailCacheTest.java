@@ -0,0 +1,87 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
+import bg.unisofia.fmi.electronicstore.event.ProductRatingChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductDetailCacheTest {
+
+    private final ProductDetailCache cache = new ProductDetailCache(100, 600);
+
+    @Test
+    void get_ShouldLoadOnceAndServeFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, id -> { loads.incrementAndGet(); return product(id, 1L, "Laptop"); });
+        ProductResponse result = cache.get(1L, id -> { loads.incrementAndGet(); return product(id, 1L, "Other"); });
+
+        assertEquals("Laptop", result.getName());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.stats().getHitCount());
+        assertEquals(1, cache.stats().getMissCount());
+    }
+
+    @Test
+    void get_WhenInvalidatedDuringLoad_ShouldNotCacheStaleResult() {
+        ProductResponse stale = cache.get(1L, id -> {
+            cache.invalidate(id);
+            return product(id, 1L, "Stale");
+        });
+
+        ProductResponse fresh = cache.get(1L, id -> product(id, 2L, "Fresh"));
+
+        assertEquals("Stale", stale.getName());
+        assertEquals("Fresh", fresh.getName());
+        assertEquals(1, cache.stats().getRejectedFillCount());
+    }
+
+    @Test
+    void get_WhenCachedVersionIsNewer_ShouldKeepCachedEntry() {
+        cache.get(1L, id -> {
+            cache.get(id, ignored -> product(id, 3L, "Newer"));
+            return product(id, 2L, "Older");
+        });
+
+        assertEquals("Newer", cache.get(1L, id -> product(id, 4L, "Reloaded")).getName());
+        assertEquals(1, cache.stats().getRejectedFillCount());
+    }
+
+    @Test
+    void get_ShouldNotExposeCachedEntryToCallerMutation() {
+        ProductResponse loaded = cache.get(1L, id -> product(id, 1L, "Laptop"));
+        loaded.setName("Mutated by loader caller");
+        cache.get(1L, id -> product(id, 1L, "Other")).setStockQuantity(0);
+
+        ProductResponse cached = cache.get(1L, id -> product(id, 1L, "Other"));
+
+        assertEquals("Laptop", cached.getName());
+        assertNull(cached.getStockQuantity());
+    }
+
+    @Test
+    void stockAndRatingEvents_ShouldInvalidateAffectedProducts() {
+        cache.get(1L, id -> product(id, 1L, "Laptop"));
+        cache.get(2L, id -> product(id, 1L, "Phone"));
+        cache.get(3L, id -> product(id, 1L, "Tablet"));
+
+        cache.onStockChanged(new ProductStockChangedEvent(Map.of(1L, -1)));
+        cache.onRatingChanged(new ProductRatingChangedEvent(List.of(2L)));
+
+        assertEquals("Reloaded", cache.get(1L, id -> product(id, 2L, "Reloaded")).getName());
+        assertEquals("Reloaded", cache.get(2L, id -> product(id, 1L, "Reloaded")).getName());
+        assertEquals("Tablet", cache.get(3L, id -> product(id, 2L, "Reloaded")).getName());
+    }
+
+    private ProductResponse product(Long id, Long version, String name) {
+        ProductResponse response = new ProductResponse();
+        response.setId(id);
+        response.setVersion(version);
+        response.setName(name);
+        return response;
+    }
+}
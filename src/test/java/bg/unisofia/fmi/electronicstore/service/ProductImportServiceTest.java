@@ -0,0 +1,178 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.dto.response.ProductImportResponse;
+import bg.unisofia.fmi.electronicstore.entity.Category;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.exception.InvalidImportException;
+import bg.unisofia.fmi.electronicstore.repository.CategoryRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ProductImportService.class)
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService importService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "Imported " + System.nanoTime() + " ";
+        for (String name : List.of("Laptops", "Gaming")) {
+            if (!categoryRepository.existsByName(name)) {
+                Category category = new Category();
+                category.setName(name);
+                categoryRepository.save(category);
+            }
+        }
+        ReflectionTestUtils.setField(importService, "batchSize", 1000);
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 1000);
+    }
+
+    @Test
+    void importCsv_ShouldInsertValidRowsAndReportRejectedOnes() throws Exception {
+        String csv = "name,description,price,stockQuantity,categories\n"
+            + prefix + "A,\"Fast, light\nand quiet\",1299.99,5,laptops|Gaming\n"
+            + prefix + "B,,abc,5,\n"
+            + ",,10,1,\n"
+            + prefix + "C,,10,1,Tablets\n"
+            + "\n"
+            + prefix + "D,,19.90,0,\n";
+
+        ProductImportResponse response = importService.importCsv(stream(csv));
+
+        assertEquals(2, response.getImported());
+        assertEquals(3, response.getRejected());
+        assertFalse(response.getErrorsTruncated());
+        assertEquals(List.of(4L, 5L, 6L), response.getErrors().stream().map(error -> error.getLine()).toList());
+        assertTrue(response.getErrors().get(0).getMessage().startsWith("price"));
+        assertTrue(response.getErrors().get(1).getMessage().startsWith("name"));
+        assertEquals("Unknown category: Tablets", response.getErrors().get(2).getMessage());
+
+        Long laptopId = jdbcTemplate.queryForObject("SELECT id FROM products WHERE name = ?", Long.class, prefix + "A");
+        assertEquals("Fast, light\nand quiet",
+            jdbcTemplate.queryForObject("SELECT description FROM products WHERE id = ?", String.class, laptopId));
+        assertEquals(2, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM product_categories WHERE product_id = ?", Integer.class, laptopId));
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM product_rating_summaries WHERE product_id = ?", Integer.class, laptopId));
+    }
+
+    @Test
+    void importCsv_WithCategoriesDifferingOnlyByCase_ShouldMatchExactNameAndRejectAmbiguousOnes() throws Exception {
+        for (String name : List.of(prefix + "Audio", prefix + "AUDIO")) {
+            Category category = new Category();
+            category.setName(name);
+            categoryRepository.save(category);
+        }
+        String csv = "name,price,stockQuantity,categories\n"
+            + prefix + "A,10,1," + prefix + "AUDIO\n"
+            + prefix + "B,10,1," + prefix + "audio\n";
+
+        ProductImportResponse response = importService.importCsv(stream(csv));
+
+        assertEquals(1, response.getImported());
+        assertEquals("Ambiguous category: " + prefix + "audio", response.getErrors().get(0).getMessage());
+        assertEquals(prefix + "AUDIO", jdbcTemplate.queryForObject(
+            "SELECT c.name FROM categories c JOIN product_categories pc ON pc.category_id = c.id "
+                + "JOIN products p ON p.id = pc.product_id WHERE p.name = ?", String.class, prefix + "A"));
+    }
+
+    @Test
+    void importNdjson_ShouldSkipMalformedLines() throws Exception {
+        String ndjson = "{\"name\":\"" + prefix + "A\",\"price\":10,\"stockQuantity\":3,\"categories\":[\"Laptops\"]}\n"
+            + "{\"name\":\"" + prefix + "B\",\"price\":\n"
+            + "{\"name\":\"" + prefix + "C\",\"price\":-1,\"stockQuantity\":3}\n";
+
+        ProductImportResponse response = importService.importNdjson(stream(ndjson));
+
+        assertEquals(1, response.getImported());
+        assertEquals(List.of(2L, 3L), response.getErrors().stream().map(error -> error.getLine()).toList());
+        assertEquals(1, countImported());
+    }
+
+    @Test
+    void importAcrossBatches_ShouldAllocateIdsThatDoNotCollideWithJpaInserts() throws Exception {
+        ReflectionTestUtils.setField(importService, "batchSize", 7);
+        StringBuilder csv = new StringBuilder("name,price,stockQuantity\n");
+        for (int i = 0; i < 120; i++) {
+            csv.append(prefix).append(i).append(",").append(10 + i).append(",1\n");
+        }
+
+        Product saved = new Product();
+        saved.setName(prefix + "saved");
+        saved.setPrice(BigDecimal.TEN);
+        saved.setStockQuantity(1);
+        saved.setCategories(new HashSet<>());
+        saved = productRepository.save(saved);
+
+        ProductImportResponse response = importService.importCsv(stream(csv.toString()));
+
+        Product savedAfter = new Product();
+        savedAfter.setName(prefix + "saved after");
+        savedAfter.setPrice(BigDecimal.TEN);
+        savedAfter.setStockQuantity(1);
+        savedAfter.setCategories(new HashSet<>());
+        savedAfter = productRepository.save(savedAfter);
+
+        assertEquals(120, response.getImported());
+        assertEquals(122, countImported());
+        assertNotNull(saved.getId());
+        assertNotNull(savedAfter.getId());
+    }
+
+    @Test
+    void importCsv_ShouldCapReportedErrors() throws Exception {
+        ReflectionTestUtils.setField(importService, "maxReportedErrors", 2);
+
+        ProductImportResponse response = importService.importCsv(stream("name,price,stockQuantity\nx,-1,1\ny,-1,1\nz,-1,1\n"));
+
+        assertEquals(3, response.getRejected());
+        assertEquals(2, response.getErrors().size());
+        assertTrue(response.getErrorsTruncated());
+    }
+
+    @Test
+    void importCsv_ShouldRejectHeaderWithoutRequiredColumns() {
+        assertThrows(InvalidImportException.class, () -> importService.importCsv(stream("name,description\nx,y\n")));
+    }
+
+    private int countImported() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE name LIKE ?", Integer.class, prefix + "%");
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
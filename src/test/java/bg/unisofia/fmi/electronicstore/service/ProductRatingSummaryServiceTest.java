@@ -0,0 +1,125 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.ProductRatingSummary;
+import bg.unisofia.fmi.electronicstore.entity.Review;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.repository.CounterUpsertTemplate;
+import bg.unisofia.fmi.electronicstore.repository.ProductRatingSummaryRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.repository.ReviewRepository;
+import bg.unisofia.fmi.electronicstore.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import static bg.unisofia.fmi.electronicstore.metrics.SqlStatementAssertions.assertStatementCount;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProductRatingSummaryService.class, CounterUpsertTemplate.class})
+class ProductRatingSummaryServiceTest {
+
+    @Autowired
+    private ProductRatingSummaryService ratingSummaryService;
+
+    @Autowired
+    private ProductRatingSummaryRepository ratingSummaryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        product = new Product();
+        product.setName("Rated " + System.nanoTime());
+        product.setPrice(BigDecimal.TEN);
+        product.setStockQuantity(1);
+        product = productRepository.save(product);
+        ReflectionTestUtils.setField(ratingSummaryService, "rebuildChunkSize", 2);
+    }
+
+    @Test
+    void addRating_ShouldCreateMissingSummaryAndThenIncrementIt() {
+        ratingSummaryService.addRating(product.getId(), 5);
+        ratingSummaryService.addRating(product.getId(), 3);
+
+        ProductRatingSummary summary = ratingSummaryRepository.findById(product.getId()).orElseThrow();
+        assertEquals(8L, summary.getRatingSum());
+        assertEquals(2L, summary.getRatingCount());
+        assertEquals(1L, summary.getFiveStarCount());
+        assertEquals(1L, summary.getThreeStarCount());
+    }
+
+    @Test
+    void removeRating_ShouldLeaveEmptySummaryWhenLastRatingIsRemoved() {
+        ratingSummaryService.addRating(product.getId(), 4);
+
+        ratingSummaryService.removeRating(product.getId(), 4);
+
+        ProductRatingSummary summary = ratingSummaryRepository.findById(product.getId()).orElseThrow();
+        assertEquals(0L, summary.getRatingCount());
+        assertEquals(0L, summary.getFourStarCount());
+        assertNull(summary.getAverageRating());
+    }
+
+    @Test
+    void save_NewSummary_ShouldInsertWithoutSelectingFirst() throws Exception {
+        assertStatementCount(1, () -> ratingSummaryRepository.save(new ProductRatingSummary(product.getId())));
+
+        assertFalse(ratingSummaryRepository.findById(product.getId()).orElseThrow().isNew());
+    }
+
+    @Test
+    void removeRating_ShouldIgnoreProductWithoutSummary() {
+        ratingSummaryService.removeRating(product.getId(), 4);
+
+        assertTrue(ratingSummaryRepository.findById(product.getId()).isEmpty());
+    }
+
+    @Test
+    void rebuildAll_ShouldRecomputeSummariesFromReviews() {
+        for (int rating : new int[] {1, 5, 5}) {
+            User user = new User();
+            user.setEmail("rater" + System.nanoTime() + "@test.com");
+            user.setPassword("secret123");
+            user.setFullName("Rater");
+            user = userRepository.save(user);
+
+            Review review = new Review();
+            review.setUser(user);
+            review.setProduct(product);
+            review.setRating(rating);
+            reviewRepository.save(review);
+        }
+        ratingSummaryService.addRating(product.getId(), 2);
+        jdbcTemplate.update("UPDATE product_rating_summaries SET rating_sum = 999 WHERE product_id = ?", product.getId());
+
+        ratingSummaryService.rebuildAll();
+
+        ProductRatingSummary summary = ratingSummaryRepository.findById(product.getId()).orElseThrow();
+        assertEquals(11L, summary.getRatingSum());
+        assertEquals(3L, summary.getRatingCount());
+        assertEquals(1L, summary.getOneStarCount());
+        assertEquals(2L, summary.getFiveStarCount());
+        assertEquals(0L, summary.getTwoStarCount());
+    }
+}
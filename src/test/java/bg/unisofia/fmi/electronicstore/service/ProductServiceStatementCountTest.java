@@ -0,0 +1,93 @@
+package bg.unisofia.fmi.electronicstore.service;
+
+import bg.unisofia.fmi.electronicstore.entity.Category;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.Review;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.mapper.CategoryMapperImpl;
+import bg.unisofia.fmi.electronicstore.mapper.ProductMapperImpl;
+import bg.unisofia.fmi.electronicstore.metrics.SqlStatementAssertions;
+import bg.unisofia.fmi.electronicstore.service.catalog.CatalogSnapshotStore;
+import bg.unisofia.fmi.electronicstore.service.inventory.InventoryReservationEngine;
+import bg.unisofia.fmi.electronicstore.service.search.InMemoryProductSearchEngine;
+import bg.unisofia.fmi.electronicstore.service.search.ProductAutocompleteIndex;
+import bg.unisofia.fmi.electronicstore.service.search.ProductFacetIndex;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ProductService.class, ProductResponseAssembler.class, ProductDetailCache.class, InventoryReservationEngine.class,
+    InMemoryProductSearchEngine.class, ProductAutocompleteIndex.class, ProductFacetIndex.class, CatalogSnapshotStore.class,
+    ProductMapperImpl.class, CategoryMapperImpl.class})
+class ProductServiceStatementCountTest {
+
+    private static final int LIST_STATEMENTS = 2;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private InMemoryProductSearchEngine searchEngine;
+
+    private Category category;
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 30})
+    void listEndpoints_ShouldUseFixedStatementCount(int catalogSize) throws Exception {
+        seedCatalog(catalogSize);
+        searchEngine.rebuild();
+
+        assertStatementCount(catalogSize, () -> productService.getAllProducts());
+        assertStatementCount(catalogSize, () -> productService.searchByName("product"));
+        assertStatementCount(catalogSize, () -> productService.findByPriceRange(BigDecimal.ZERO, BigDecimal.valueOf(100000)));
+        assertStatementCount(catalogSize, () -> productService.findByCategory(category.getId()));
+        assertStatementCount(catalogSize, () -> productService.findAvailable());
+    }
+
+    private void assertStatementCount(int expectedSize, Supplier<List<?>> endpoint) throws Exception {
+        entityManager.clear();
+        SqlStatementAssertions.assertStatementCount(LIST_STATEMENTS,
+            () -> assertEquals(expectedSize, endpoint.get().size()));
+    }
+
+    private void seedCatalog(int catalogSize) {
+        category = new Category();
+        category.setName("Laptops");
+        entityManager.persist(category);
+
+        User user = new User();
+        user.setEmail("reviewer@test.com");
+        user.setPassword("secret123");
+        user.setFullName("Reviewer");
+        entityManager.persist(user);
+
+        for (int i = 0; i < catalogSize; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(BigDecimal.valueOf(100 + i));
+            product.setStockQuantity(5);
+            product.setCategories(new HashSet<>(Set.of(category)));
+            entityManager.persist(product);
+
+            Review review = new Review();
+            review.setUser(user);
+            review.setProduct(product);
+            review.setRating(1 + i % 5);
+            entityManager.persist(review);
+        }
+        entityManager.flush();
+    }
+}
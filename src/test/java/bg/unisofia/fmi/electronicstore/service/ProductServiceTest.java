@@ -1,24 +1,42 @@
 package bg.unisofia.fmi.electronicstore.service;
 
 import bg.unisofia.fmi.electronicstore.dto.request.CreateProductRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.ProductSort;
+import bg.unisofia.fmi.electronicstore.dto.response.CursorPageResponse;
 import bg.unisofia.fmi.electronicstore.dto.response.ProductResponse;
 import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.ProductRatingSummary;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.exception.InvalidCursorException;
 import bg.unisofia.fmi.electronicstore.exception.ResourceNotFoundException;
 import bg.unisofia.fmi.electronicstore.mapper.ProductMapper;
 import bg.unisofia.fmi.electronicstore.repository.CategoryRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRatingSummaryRepository;
 import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.service.catalog.CatalogSnapshotStore;
+import bg.unisofia.fmi.electronicstore.service.inventory.InventoryReservationEngine;
+import bg.unisofia.fmi.electronicstore.service.search.ProductAutocompleteIndex;
+import bg.unisofia.fmi.electronicstore.service.search.ProductFacetIndex;
+import bg.unisofia.fmi.electronicstore.service.search.ProductSearchEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,9 +48,33 @@ class ProductServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ProductRatingSummaryRepository ratingSummaryRepository;
+
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductSearchEngine searchEngine;
+
+    @Mock
+    private ProductAutocompleteIndex autocompleteIndex;
+
+    @Mock
+    private ProductFacetIndex facetIndex;
+
+    @Mock
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    @Mock
+    private InventoryReservationEngine reservationEngine;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ProductDetailCache productDetailCache = new ProductDetailCache(100, 600);
+
     @InjectMocks
     private ProductService productService;
 
@@ -58,26 +100,49 @@ class ProductServiceTest {
         createRequest.setName("Laptop");
         createRequest.setPrice(BigDecimal.valueOf(999.99));
         createRequest.setStockQuantity(10);
+
+        ReflectionTestUtils.setField(productService, "responseAssembler",
+            new ProductResponseAssembler(ratingSummaryRepository, productMapper));
     }
 
     @Test
     void getAllProducts_ShouldReturnList() {
         when(productRepository.findAll()).thenReturn(List.of(product));
         when(productMapper.toResponse(any(Product.class))).thenReturn(productResponse);
-        when(productRepository.getAverageRating(1L)).thenReturn(4.5);
+        when(ratingSummaryRepository.findAllById(List.of(1L))).thenReturn(List.of(ratingSummary(9L, 2L)));
 
         List<ProductResponse> result = productService.getAllProducts();
 
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(4.5, result.get(0).getAverageRating());
         verify(productRepository, times(1)).findAll();
+        verify(productRepository, never()).getAverageRating(any());
+        verify(ratingSummaryRepository, never()).findById(any());
+    }
+
+    @Test
+    void getAllProducts_ShouldLookUpRatingsInBatches() {
+        List<Product> products = LongStream.rangeClosed(1, 1500)
+            .mapToObj(id -> {
+                Product listed = new Product();
+                listed.setId(id);
+                return listed;
+            })
+            .toList();
+        when(productRepository.findAll()).thenReturn(products);
+        when(productMapper.toResponse(any(Product.class))).thenAnswer(invocation -> new ProductResponse());
+        when(ratingSummaryRepository.findAllById(any())).thenReturn(Collections.emptyList());
+
+        assertEquals(1500, productService.getAllProducts().size());
+        verify(ratingSummaryRepository, times(2)).findAllById(any());
     }
 
     @Test
     void getProductById_WhenExists_ShouldReturnProduct() {
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.findWithCategoriesById(1L)).thenReturn(Optional.of(product));
         when(productMapper.toResponse(product)).thenReturn(productResponse);
-        when(productRepository.getAverageRating(1L)).thenReturn(4.5);
+        when(ratingSummaryRepository.findById(1L)).thenReturn(Optional.of(ratingSummary(9L, 2L)));
 
         ProductResponse result = productService.getProductById(1L);
 
@@ -87,30 +152,48 @@ class ProductServiceTest {
 
     @Test
     void getProductById_WhenNotExists_ShouldThrowException() {
-        when(productRepository.findById(99L)).thenReturn(Optional.empty());
+        when(productRepository.findWithCategoriesById(99L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(99L));
     }
 
+    @Test
+    void getProductById_WhenCached_ShouldNotQueryDatabase() {
+        when(productRepository.findWithCategoriesById(1L)).thenReturn(Optional.of(product));
+        when(productMapper.toResponse(product)).thenReturn(productResponse);
+        when(ratingSummaryRepository.findById(1L)).thenReturn(Optional.empty());
+
+        productService.getProductById(1L);
+        ProductResponse result = productService.getProductById(1L);
+
+        assertEquals("Laptop", result.getName());
+        verify(productRepository, times(1)).findWithCategoriesById(1L);
+        assertEquals(1, productService.getProductCacheStats().getHitCount());
+    }
+
     @Test
     void createProduct_ShouldSaveAndReturn() {
         when(productMapper.toEntity(createRequest)).thenReturn(product);
         when(productRepository.save(any(Product.class))).thenReturn(product);
         when(productMapper.toResponse(product)).thenReturn(productResponse);
-        when(productRepository.getAverageRating(1L)).thenReturn(null);
+        when(ratingSummaryRepository.findById(1L)).thenReturn(Optional.empty());
 
         ProductResponse result = productService.createProduct(createRequest);
 
         assertNotNull(result);
         assertEquals("Laptop", result.getName());
+        assertNull(result.getAverageRating());
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(ratingSummaryRepository, times(1)).save(any(ProductRatingSummary.class));
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));
     }
 
     @Test
     void searchByName_ShouldReturnMatchingProducts() {
-        when(productRepository.findByNameContainingIgnoreCase("lap")).thenReturn(List.of(product));
+        when(searchEngine.search(eq("lap"), anyInt())).thenReturn(List.of(1L));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
         when(productMapper.toResponse(product)).thenReturn(productResponse);
-        when(productRepository.getAverageRating(1L)).thenReturn(4.0);
+        when(ratingSummaryRepository.findAllById(List.of(1L))).thenReturn(List.of(ratingSummary(4L, 1L)));
 
         List<ProductResponse> result = productService.searchByName("lap");
 
@@ -118,12 +201,22 @@ class ProductServiceTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void searchByName_WhenNothingMatches_ShouldNotQueryProducts() {
+        when(searchEngine.search(eq("tablet"), anyInt())).thenReturn(Collections.emptyList());
+
+        List<ProductResponse> result = productService.searchByName("tablet");
+
+        assertTrue(result.isEmpty());
+        verify(productRepository, never()).findAllById(any());
+    }
+
     @Test
     void findByPriceRange_ShouldReturnMatchingProducts() {
         when(productRepository.findByPriceRange(BigDecimal.valueOf(500), BigDecimal.valueOf(1500)))
             .thenReturn(List.of(product));
         when(productMapper.toResponse(product)).thenReturn(productResponse);
-        when(productRepository.getAverageRating(1L)).thenReturn(4.0);
+        when(ratingSummaryRepository.findAllById(List.of(1L))).thenReturn(Collections.emptyList());
 
         List<ProductResponse> result = productService.findByPriceRange(
             BigDecimal.valueOf(500), BigDecimal.valueOf(1500));
@@ -132,6 +225,45 @@ class ProductServiceTest {
         assertEquals(1, result.size());
     }
 
+    @Test
+    void getProductPage_WhenMoreResultsExist_ShouldReturnNextCursor() {
+        ReflectionTestUtils.setField(productService, "maxPageSize", 100);
+        Product older = new Product();
+        older.setId(2L);
+        older.setCreatedAt(product.getCreatedAt().minusDays(1));
+
+        when(productRepository.findNewestFirst(eq(0), any(Pageable.class))).thenReturn(List.of(product, older));
+        when(productMapper.toResponse(product)).thenReturn(productResponse);
+        when(ratingSummaryRepository.findAllById(List.of(1L))).thenReturn(Collections.emptyList());
+
+        CursorPageResponse<ProductResponse> page = productService.getProductPage(ProductSort.NEWEST, null, 1, false);
+
+        assertEquals(1, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    void getProductPage_WithCursor_ShouldContinueAfterLastKey() {
+        ReflectionTestUtils.setField(productService, "maxPageSize", 100);
+        String cursor = KeysetCursor.encode("products:PRICE_ASC:1", "999.99", 1L);
+
+        when(productRepository.findCheapestFirstAfter(eq(1), eq(new BigDecimal("999.99")), eq(1L), any(Pageable.class)))
+            .thenReturn(Collections.emptyList());
+
+        CursorPageResponse<ProductResponse> page = productService.getProductPage(ProductSort.PRICE_ASC, cursor, 10, true);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getProductPage_WithCursorFromOtherSort_ShouldThrowException() {
+        String cursor = KeysetCursor.encode("products:PRICE_ASC:0", "999.99", 1L);
+
+        assertThrows(InvalidCursorException.class,
+            () -> productService.getProductPage(ProductSort.NEWEST, cursor, 10, false));
+    }
+
     @Test
     void deleteProduct_WhenExists_ShouldDelete() {
         when(productRepository.existsById(1L)).thenReturn(true);
@@ -148,4 +280,11 @@ class ProductServiceTest {
 
         assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(99L));
     }
+
+    private ProductRatingSummary ratingSummary(long ratingSum, long ratingCount) {
+        ProductRatingSummary summary = new ProductRatingSummary(1L);
+        summary.setRatingSum(ratingSum);
+        summary.setRatingCount(ratingCount);
+        return summary;
+    }
 }
@@ -0,0 +1,86 @@
+package bg.unisofia.fmi.electronicstore.service.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = CatalogSnapshot.empty().apply(List.of(
+            new CatalogRow(3L, "Mouse", 2_999L, 0, 300L),
+            new CatalogRow(1L, "Laptop", 149_999L, 4, 100L),
+            new CatalogRow(2L, "Монитор", 29_999L, 2, 200L),
+            new CatalogRow(4L, "Keyboard", 2_999L, 8, 400L)
+        ), Set.of());
+    }
+
+    @Test
+    void findByPriceRange_ShouldReturnRowsInPriceOrder() {
+        assertEquals(List.of(3L, 4L, 2L), ids(snapshot.findByPriceRange(2_999L, 29_999L)));
+        assertEquals(List.of(), snapshot.findByPriceRange(30_000L, 100_000L));
+    }
+
+    @Test
+    void findAvailable_ShouldSkipSoldOutAndReturnNewestFirst() {
+        assertEquals(List.of(4L, 2L, 1L), ids(snapshot.findAvailable(10)));
+    }
+
+    @Test
+    void findAvailableAfter_ShouldContinueNewestFirstFromTheLastRowSeen() {
+        assertEquals(List.of(4L), ids(snapshot.findAvailable(1)));
+        assertEquals(List.of(2L), ids(snapshot.findAvailableAfter(400L, 4L, 1)));
+        assertEquals(List.of(1L), ids(snapshot.findAvailableAfter(200L, 2L, 5)));
+        assertEquals(List.of(), snapshot.findAvailableAfter(100L, 1L, 5));
+    }
+
+    @Test
+    void apply_ShouldReturnNewSnapshotAndLeaveTheOldOneUnchanged() {
+        CatalogSnapshot updated = snapshot.apply(
+            List.of(new CatalogRow(3L, "Mouse", 1_999L, 5, 300L), new CatalogRow(5L, "Headset", 9_999L, 1, 500L)),
+            Set.of(1L));
+
+        assertEquals(4, updated.size());
+        assertTrue(updated.find(1L).isEmpty());
+        assertEquals(List.of(3L, 4L, 5L, 2L), ids(updated.findByPriceRange(0L, Long.MAX_VALUE)));
+        assertEquals(List.of(5L, 4L, 3L, 2L), ids(updated.findAvailable(10)));
+        assertEquals(List.of(3L, 4L, 2L, 1L), ids(snapshot.findByPriceRange(0L, Long.MAX_VALUE)));
+        assertEquals("Монитор", updated.find(2L).orElseThrow().name());
+    }
+
+    @Test
+    void writeTo_ShouldProduceFileThatCanBeMappedBack(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("catalog.bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            snapshot.writeTo(channel);
+        }
+
+        CatalogSnapshot mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = CatalogSnapshot.wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+
+        assertEquals(snapshot.findByPriceRange(0L, Long.MAX_VALUE), mapped.findByPriceRange(0L, Long.MAX_VALUE));
+        assertEquals(new CatalogRow(2L, "Монитор", 29_999L, 2, 200L), mapped.find(2L).orElseThrow());
+    }
+
+    @Test
+    void wrap_ShouldRejectForeignData() {
+        assertThrows(IllegalArgumentException.class,
+            () -> CatalogSnapshot.wrap(ByteBuffer.wrap(new byte[16])));
+    }
+
+    private static List<Long> ids(List<CatalogRow> rows) {
+        return rows.stream().map(CatalogRow::id).toList();
+    }
+}
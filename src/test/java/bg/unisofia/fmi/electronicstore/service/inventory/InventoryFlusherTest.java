@@ -0,0 +1,191 @@
+package bg.unisofia.fmi.electronicstore.service.inventory;
+
+import bg.unisofia.fmi.electronicstore.dto.request.CreateOrderRequest;
+import bg.unisofia.fmi.electronicstore.dto.request.OrderItemRequest;
+import bg.unisofia.fmi.electronicstore.entity.Category;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.event.ProductsUpdatedEvent;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.mapper.OrderMapperImpl;
+import bg.unisofia.fmi.electronicstore.metrics.OrderMetrics;
+import bg.unisofia.fmi.electronicstore.repository.CategoryRepository;
+import bg.unisofia.fmi.electronicstore.repository.OrderItemRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.repository.UserRepository;
+import bg.unisofia.fmi.electronicstore.service.CategoryOverviewIndex;
+import bg.unisofia.fmi.electronicstore.service.OrderService;
+import bg.unisofia.fmi.electronicstore.service.ProductDetailCache;
+import bg.unisofia.fmi.electronicstore.service.catalog.CatalogSnapshotStore;
+import bg.unisofia.fmi.electronicstore.service.search.ProductFacetIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "store.inventory.strategy=reservation")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({InventoryFlusher.class, InventoryReservationEngine.class, ReservationStockStrategy.class, OrderService.class,
+    OrderMapperImpl.class, OrderMetrics.class, SimpleMeterRegistry.class, ProductDetailCache.class,
+    CatalogSnapshotStore.class, ProductFacetIndex.class, CategoryOverviewIndex.class})
+class InventoryFlusherTest {
+
+    @Autowired
+    private InventoryFlusher inventoryFlusher;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductFacetIndex facetIndex;
+
+    @Autowired
+    private CategoryOverviewIndex overviewIndex;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private User user;
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("flushed" + System.nanoTime() + "@test.com");
+        user.setPassword("secret123");
+        user.setFullName("Flushed Buyer");
+        user = userRepository.save(user);
+        ReflectionTestUtils.setField(inventoryFlusher, "flushBatchSize", 2);
+    }
+
+    @Test
+    void flush_ShouldApplyReservedStockExactlyOnce() {
+        Product laptop = product(10);
+        Product phone = product(5);
+        placeOrder(laptop, 2);
+        placeOrder(laptop, 3);
+        placeOrder(phone, 1);
+
+        assertEquals(10, stockOf(laptop));
+        assertEquals(3, pendingItems());
+
+        inventoryFlusher.flush();
+
+        assertEquals(5, stockOf(laptop));
+        assertEquals(4, stockOf(phone));
+        assertEquals(0, pendingItems());
+
+        inventoryFlusher.flush();
+
+        assertEquals(5, stockOf(laptop));
+        assertEquals(4, stockOf(phone));
+    }
+
+    @Test
+    void flush_ShouldOnlyApplyOrdersPlacedSinceLastRun() {
+        Product laptop = product(10);
+        placeOrder(laptop, 4);
+        inventoryFlusher.flush();
+
+        placeOrder(laptop, 1);
+        assertEquals(1, pendingItems());
+        inventoryFlusher.flush();
+
+        assertEquals(5, stockOf(laptop));
+        assertEquals(0, pendingItems());
+    }
+
+    @Test
+    void facetIndexRefresh_ShouldKeepReservedStockBeforeAndAfterFlush() {
+        Product product = product(2);
+        facetIndex.onProductsUpdated(new ProductsUpdatedEvent(List.of(product.getId())));
+        assertTrue(facetIndexInStock(product));
+
+        placeOrder(product, 2);
+        assertFalse(facetIndexInStock(product));
+
+        facetIndex.onProductsUpdated(new ProductsUpdatedEvent(List.of(product.getId())));
+        assertFalse(facetIndexInStock(product));
+
+        inventoryFlusher.flush();
+        facetIndex.onProductsUpdated(new ProductsUpdatedEvent(List.of(product.getId())));
+        assertEquals(0, stockOf(product));
+        assertFalse(facetIndexInStock(product));
+    }
+
+    @Test
+    void categoryOverviewRefresh_ShouldKeepReservedStockBeforeAndAfterFlush() {
+        Category category = new Category();
+        category.setName("Reserved " + System.nanoTime());
+        category = categoryRepository.save(category);
+        Product product = product(2);
+        product.setCategories(new HashSet<>(Set.of(category)));
+        product = productRepository.save(product);
+        overviewIndex.onProductsUpdated(new ProductsUpdatedEvent(List.of(product.getId())));
+        assertEquals(1, overviewIndex.stats(category.getId()).inStockCount());
+
+        placeOrder(product, 2);
+        assertEquals(0, overviewIndex.stats(category.getId()).inStockCount());
+
+        overviewIndex.onProductsUpdated(new ProductsUpdatedEvent(List.of(product.getId())));
+        assertEquals(0, overviewIndex.stats(category.getId()).inStockCount());
+
+        inventoryFlusher.flush();
+        overviewIndex.onProductsUpdated(new ProductsUpdatedEvent(List.of(product.getId())));
+        assertEquals(0, overviewIndex.stats(category.getId()).inStockCount());
+        assertEquals(1, overviewIndex.stats(category.getId()).productCount());
+    }
+
+    private boolean facetIndexInStock(Product product) {
+        return facetIndex.filter(Set.of(), null, null, true, null, 1000).productIds()
+            .contains(product.getId());
+    }
+
+    private void placeOrder(Product product, int quantity) {
+        OrderItemRequest item = new OrderItemRequest();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setUserId(user.getId());
+        request.setItems(List.of(item));
+        orderIds.add(orderService.createOrder(request).getId());
+    }
+
+    private long pendingItems() {
+        return orderIds.stream()
+            .flatMap(orderId -> orderItemRepository.findByOrderId(orderId).stream())
+            .filter(item -> !item.isStockApplied())
+            .count();
+    }
+
+    private int stockOf(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getStockQuantity();
+    }
+
+    private Product product(int stock) {
+        Product product = new Product();
+        product.setName("Reserved product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStockQuantity(stock);
+        return productRepository.save(product);
+    }
+}
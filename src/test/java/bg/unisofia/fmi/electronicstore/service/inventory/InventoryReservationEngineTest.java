@@ -0,0 +1,126 @@
+package bg.unisofia.fmi.electronicstore.service.inventory;
+
+import bg.unisofia.fmi.electronicstore.exception.ResourceNotFoundException;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReservationEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private InventoryReservationEngine reservationEngine;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tryReserve_FromManyThreads_ShouldNeverOversell() throws Exception {
+        int stock = 500;
+        int threads = 16;
+        int attemptsPerThread = 200;
+        when(productRepository.findAvailableStock(1L)).thenReturn(Optional.of((long) stock));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int reserved = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    int quantity = 1 + i % 3;
+                    if (reservationEngine.tryReserve(1L, quantity)) {
+                        reserved += quantity;
+                    }
+                }
+                return reserved;
+            }));
+        }
+        start.countDown();
+
+        int totalReserved = 0;
+        for (Future<Integer> result : results) {
+            totalReserved += result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(stock, totalReserved);
+        assertEquals(0, reservationEngine.available(1L));
+        verify(productRepository, times(1)).findAvailableStock(1L);
+    }
+
+    @Test
+    void tryReserve_WhenNotEnoughStock_ShouldLeaveCounterUntouched() {
+        when(productRepository.findAvailableStock(1L)).thenReturn(Optional.of(2L));
+
+        assertFalse(reservationEngine.tryReserve(1L, 3));
+        assertEquals(2, reservationEngine.available(1L));
+    }
+
+    @Test
+    void tryReserve_WhenTransactionRollsBack_ShouldReleaseReservation() {
+        when(productRepository.findAvailableStock(1L)).thenReturn(Optional.of(5L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertTrue(reservationEngine.tryReserve(1L, 4));
+        assertEquals(1, reservationEngine.available(1L));
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(5, reservationEngine.available(1L));
+    }
+
+    @Test
+    void adjustOnCommit_ShouldApplyOnlyAfterCommit() {
+        when(productRepository.findAvailableStock(1L)).thenReturn(Optional.of(5L));
+        reservationEngine.available(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        reservationEngine.adjustOnCommit(Map.of(1L, 3));
+        assertEquals(5, reservationEngine.available(1L));
+
+        TransactionSynchronizationUtils.triggerBeforeCommit(false);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(8, reservationEngine.available(1L));
+    }
+
+    @Test
+    void available_WhenProductMissing_ShouldThrowException() {
+        when(productRepository.findAvailableStock(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> reservationEngine.available(99L));
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+}
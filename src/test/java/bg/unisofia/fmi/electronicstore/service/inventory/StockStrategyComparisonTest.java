@@ -0,0 +1,124 @@
+package bg.unisofia.fmi.electronicstore.service.inventory;
+
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.exception.ConcurrentPurchaseException;
+import bg.unisofia.fmi.electronicstore.exception.InsufficientStockException;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockStrategyComparisonTest {
+
+    private static final int STOCK = 40;
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 20;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void conditionalUpdate_UnderContention_ShouldSellOutWithoutConflicts() throws Exception {
+        Outcome outcome = hammer(new ConditionalUpdateStockStrategy(productRepository));
+
+        assertEquals(STOCK, outcome.sold());
+        assertEquals(0, outcome.conflicts());
+        assertEquals(0, outcome.remainingStock());
+    }
+
+    @Test
+    void optimistic_UnderContention_ShouldNeverOversell() throws Exception {
+        Outcome outcome = hammer(new OptimisticStockStrategy(productRepository));
+
+        assertTrue(outcome.sold() <= STOCK);
+        assertEquals(STOCK - outcome.sold(), outcome.remainingStock());
+    }
+
+    @Test
+    void conditionalUpdate_ShouldSucceedAtLeastAsOftenAsOptimistic() throws Exception {
+        Outcome optimistic = hammer(new OptimisticStockStrategy(productRepository));
+        Outcome conditional = hammer(new ConditionalUpdateStockStrategy(productRepository));
+
+        assertTrue(conditional.successRate() >= optimistic.successRate(),
+            "conditional " + conditional + " vs optimistic " + optimistic);
+    }
+
+    private Outcome hammer(StockStrategy strategy) throws Exception {
+        Long productId = transactionTemplate.execute(status -> {
+            Product product = new Product();
+            product.setName("Flash sale item");
+            product.setPrice(BigDecimal.TEN);
+            product.setStockQuantity(STOCK);
+            return productRepository.save(product).getId();
+        });
+
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            Product product = productRepository.findById(productId).orElseThrow();
+                            strategy.reserve(Map.of(productId, 1), Map.of(productId, product));
+                        });
+                        sold.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        // sold out
+                    } catch (ConcurrentPurchaseException | ObjectOptimisticLockingFailureException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int remainingStock = productRepository.findById(productId).orElseThrow().getStockQuantity();
+        return new Outcome(sold.get(), conflicts.get(), remainingStock);
+    }
+
+    private record Outcome(int sold, int conflicts, int remainingStock) {
+
+        double successRate() {
+            return (double) sold / Math.min(STOCK, THREADS * ATTEMPTS_PER_THREAD);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package bg.unisofia.fmi.electronicstore.service.sales;
+
+import bg.unisofia.fmi.electronicstore.dto.response.HourlySalesResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.SalesBackfillResponse;
+import bg.unisofia.fmi.electronicstore.dto.response.SalesTotalsResponse;
+import bg.unisofia.fmi.electronicstore.entity.Category;
+import bg.unisofia.fmi.electronicstore.entity.Order;
+import bg.unisofia.fmi.electronicstore.entity.OrderItem;
+import bg.unisofia.fmi.electronicstore.entity.Product;
+import bg.unisofia.fmi.electronicstore.entity.User;
+import bg.unisofia.fmi.electronicstore.repository.CategoryRepository;
+import bg.unisofia.fmi.electronicstore.repository.CounterUpsertTemplate;
+import bg.unisofia.fmi.electronicstore.repository.OrderRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import bg.unisofia.fmi.electronicstore.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SalesRollupWriter.class, SalesRollupFlusher.class, SalesBackfillService.class, SalesReportService.class,
+    CounterUpsertTemplate.class})
+class SalesRollupWriterTest {
+
+    @Autowired
+    private SalesRollupFlusher flusher;
+
+    @Autowired
+    private SalesBackfillService backfillService;
+
+    @Autowired
+    private SalesReportService reportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Category category;
+    private Product laptop;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        user = new User();
+        user.setEmail("sales" + suffix + "@test.com");
+        user.setPassword("secret123");
+        user.setFullName("Sales User");
+        user = userRepository.save(user);
+
+        category = new Category();
+        category.setName("Sales " + suffix);
+        category = categoryRepository.save(category);
+
+        laptop = product("Laptop " + suffix, "1000.00");
+        mouse = product("Mouse " + suffix, "25.50");
+        ReflectionTestUtils.setField(flusher, "batchSize", 100000);
+    }
+
+    @Test
+    void flush_ShouldRollUpPlacedOrdersAndSubtractThemOnceCancelled() {
+        LocalDate day = LocalDate.of(2001, 3, 14);
+        Order first = order(day.atTime(10, 15), Map.of(laptop, 1, mouse, 2));
+        order(day.atTime(10, 45), Map.of(mouse, 1));
+        order(day.atTime(14, 5), Map.of(laptop, 2));
+
+        flusher.flush();
+
+        assertEquals(List.of(new SalesTotalsResponse(laptop.getId(), 3L, new BigDecimal("3000.00"), 2L),
+                new SalesTotalsResponse(mouse.getId(), 3L, new BigDecimal("76.50"), 2L)),
+            reportService.getProductSales(day, day));
+        assertEquals(List.of(new SalesTotalsResponse(category.getId(), 6L, new BigDecimal("3076.50"), 3L)),
+            reportService.getCategorySales(day, day));
+        List<HourlySalesResponse> hours = reportService.getHourlySales(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        assertEquals(List.of(day.atTime(10, 0), day.atTime(14, 0)), hours.stream().map(HourlySalesResponse::getHour).toList());
+        assertEquals(2L, hours.get(0).getOrderCount());
+
+        jdbcTemplate.update("UPDATE orders SET status = 'CANCELLED' WHERE id = ?", first.getId());
+        flusher.flush();
+        flusher.flush();
+
+        assertEquals(List.of(new SalesTotalsResponse(laptop.getId(), 2L, new BigDecimal("2000.00"), 1L),
+                new SalesTotalsResponse(mouse.getId(), 1L, new BigDecimal("25.50"), 1L)),
+            reportService.getProductSales(day, day));
+        assertEquals(List.of(new SalesTotalsResponse(category.getId(), 3L, new BigDecimal("2025.50"), 2L)),
+            reportService.getCategorySales(day, day));
+    }
+
+    @Test
+    void flush_WhenProductChangesCategoryBeforeCancel_ShouldSubtractFromTheCategoryItWasRolledUpUnder() {
+        LocalDate day = LocalDate.of(2003, 9, 2);
+        Order placed = order(day.atTime(9, 30), Map.of(laptop, 1));
+        flusher.flush();
+
+        Category other = new Category();
+        other.setName("Other " + System.nanoTime());
+        other = categoryRepository.save(other);
+        laptop.setCategories(new HashSet<>(Set.of(other)));
+        productRepository.save(laptop);
+        jdbcTemplate.update("UPDATE orders SET status = 'CANCELLED' WHERE id = ?", placed.getId());
+        flusher.flush();
+
+        List<SalesTotalsResponse> sales = reportService.getCategorySales(day, day);
+        assertEquals(List.of(category.getId()), sales.stream().map(SalesTotalsResponse::getId).toList());
+        assertEquals(0L, sales.get(0).getUnitsSold());
+        assertEquals(0, sales.get(0).getRevenue().signum());
+        assertEquals(0L, sales.get(0).getOrderCount());
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM sales_rollup_categories WHERE order_id = ?", Integer.class, placed.getId()));
+    }
+
+    @Test
+    void backfill_ShouldRollUpHistoryInParallelChunksExactlyOnce() {
+        LocalDate day = LocalDate.of(2002, 6, 1);
+        for (int i = 0; i < 30; i++) {
+            order(day.atTime(i % 24, 0), Map.of(mouse, 1));
+        }
+        ReflectionTestUtils.setField(backfillService, "chunkSize", 7L);
+        ReflectionTestUtils.setField(backfillService, "workers", 3);
+        ReflectionTestUtils.setField(backfillService, "batchSize", 4);
+
+        SalesBackfillResponse response = backfillService.backfill();
+        SalesBackfillResponse repeated = backfillService.backfill();
+
+        assertTrue(response.getOrdersRolledUp() >= 30);
+        assertEquals(0L, repeated.getOrdersRolledUp());
+        assertEquals(List.of(new SalesTotalsResponse(mouse.getId(), 30L, new BigDecimal("765.00"), 30L)),
+            reportService.getProductSales(day, day));
+    }
+
+    private Product product(String name, String price) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        product.setStockQuantity(100);
+        product.setCategories(new HashSet<>(Set.of(category)));
+        return productRepository.save(product);
+    }
+
+    private Order order(LocalDateTime createdAt, Map<Product, Integer> quantities) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setCreatedAt(createdAt);
+        quantities.forEach((product, quantity) -> {
+            OrderItem item = new OrderItem();
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(quantity);
+            item.setPriceAtPurchase(product.getPrice());
+            order.getItems().add(item);
+        });
+        order.recalculateTotal();
+        return orderRepository.save(order);
+    }
+}
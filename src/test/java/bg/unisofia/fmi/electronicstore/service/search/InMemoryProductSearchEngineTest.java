@@ -0,0 +1,63 @@
+package bg.unisofia.fmi.electronicstore.service.search;
+
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryProductSearchEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private InMemoryProductSearchEngine searchEngine;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new InMemoryProductSearchEngine(productRepository);
+        searchEngine.index(1L, "Gaming Laptop", "Fast laptop with RGB keyboard");
+        searchEngine.index(2L, "Laptop Sleeve", "Protective sleeve");
+        searchEngine.index(3L, "Mechanical Keyboard", "Works great with any gaming laptop");
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        List<Long> result = searchEngine.search("gaming", 10);
+
+        assertEquals(List.of(1L, 3L), result);
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesCaseInsensitively() {
+        List<Long> result = searchEngine.search("LAP", 10);
+
+        assertEquals(3, result.size());
+        assertTrue(result.containsAll(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void search_ShouldRequireEveryQueryTerm() {
+        List<Long> result = searchEngine.search("laptop keyb", 10);
+
+        assertEquals(List.of(1L, 3L), result.stream().sorted().toList());
+    }
+
+    @Test
+    void search_ShouldReflectUpdatesAndRemovals() {
+        searchEngine.index(2L, "Tablet Sleeve", "Protective sleeve");
+        searchEngine.remove(3L);
+
+        assertEquals(List.of(1L), searchEngine.search("laptop", 10));
+        assertEquals(List.of(2L), searchEngine.search("tablet", 10));
+    }
+
+    @Test
+    void search_WithBlankQuery_ShouldReturnNothing() {
+        assertTrue(searchEngine.search("  ", 10).isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package bg.unisofia.fmi.electronicstore.service.search;
+
+import bg.unisofia.fmi.electronicstore.dto.response.ProductSuggestionResponse;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import bg.unisofia.fmi.electronicstore.repository.OrderItemRepository;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductAutocompleteIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    private ProductAutocompleteIndex autocompleteIndex;
+
+    @BeforeEach
+    void setUp() {
+        autocompleteIndex = new ProductAutocompleteIndex(productRepository, orderItemRepository);
+        autocompleteIndex.put(1L, "Apple MacBook Pro", 5);
+        autocompleteIndex.put(2L, "Apple iPhone", 50);
+        autocompleteIndex.put(3L, "MacBook Air", 10);
+    }
+
+    @Test
+    void suggest_ShouldRankByUnitsSold() {
+        assertEquals(List.of(2L, 1L), ids(autocompleteIndex.suggest("app", 10)));
+        assertEquals(List.of(3L, 1L), ids(autocompleteIndex.suggest("Mac", 10)));
+    }
+
+    @Test
+    void suggest_ShouldMatchLaterWordsInName() {
+        assertEquals(List.of(1L), ids(autocompleteIndex.suggest("pro", 10)));
+        assertEquals(List.of(1L), ids(autocompleteIndex.suggest("macbook p", 10)));
+    }
+
+    @Test
+    void onStockChanged_ShouldPromoteSoldProducts() {
+        autocompleteIndex.onStockChanged(new ProductStockChangedEvent(Map.of(1L, -20, 3L, 4)));
+
+        assertEquals(List.of(1L, 3L), ids(autocompleteIndex.suggest("mac", 10)));
+    }
+
+    @Test
+    void remove_ShouldDropProductFromEveryPrefix() {
+        autocompleteIndex.remove(1L);
+
+        assertEquals(List.of(3L), ids(autocompleteIndex.suggest("mac", 10)));
+        assertTrue(autocompleteIndex.suggest("pro", 10).isEmpty());
+    }
+
+    @Test
+    void put_WithNewName_ShouldReplaceOldPrefixes() {
+        autocompleteIndex.put(3L, "Dell XPS", 10);
+
+        assertEquals(List.of(1L), ids(autocompleteIndex.suggest("mac", 10)));
+        assertEquals(List.of(3L), ids(autocompleteIndex.suggest("xps", 10)));
+    }
+
+    @Test
+    void suggest_ShouldRespectLimit() {
+        assertEquals(1, autocompleteIndex.suggest("a", 1).size());
+    }
+
+    private List<Long> ids(List<ProductSuggestionResponse> suggestions) {
+        return suggestions.stream().map(ProductSuggestionResponse::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,104 @@
+package bg.unisofia.fmi.electronicstore.service.search;
+
+import bg.unisofia.fmi.electronicstore.dto.projection.ProductCategoryFactsView;
+import bg.unisofia.fmi.electronicstore.dto.response.PriceBucketCount;
+import bg.unisofia.fmi.electronicstore.event.ProductChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductStockChangedEvent;
+import bg.unisofia.fmi.electronicstore.event.ProductsUpdatedEvent;
+import bg.unisofia.fmi.electronicstore.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFacetIndexTest {
+
+    private static final long LAPTOPS = 10L;
+    private static final long GAMING = 20L;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductFacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        facetIndex = new ProductFacetIndex(productRepository);
+        facetIndex.put(1L, BigDecimal.valueOf(1500), 3, Set.of(LAPTOPS, GAMING));
+        facetIndex.put(2L, BigDecimal.valueOf(900), 0, Set.of(LAPTOPS));
+        facetIndex.put(3L, BigDecimal.valueOf(60), 10, Set.of(GAMING));
+        facetIndex.put(4L, new BigDecimal("499.99"), 1, Set.of(LAPTOPS));
+        facetIndex.put(5L, BigDecimal.valueOf(500), 7, Set.of(LAPTOPS));
+    }
+
+    @Test
+    void filter_ShouldIntersectCategoryPriceAndAvailability() {
+        ProductFacetIndex.Result result = facetIndex.filter(Set.of(LAPTOPS),
+            BigDecimal.valueOf(500), BigDecimal.valueOf(1000), true, null, 10);
+
+        assertEquals(1, result.total());
+        assertEquals(List.of(5L), result.productIds());
+    }
+
+    @Test
+    void filter_ShouldCountEachFacetWithoutItsOwnFilter() {
+        ProductFacetIndex.Result result = facetIndex.filter(Set.of(LAPTOPS),
+            BigDecimal.valueOf(500), BigDecimal.valueOf(1000), true, null, 10);
+
+        assertEquals(Map.of(LAPTOPS, 1L), result.categoryCounts());
+        assertEquals(3L, count(result, BigDecimal.valueOf(250)) + count(result, BigDecimal.valueOf(500))
+            + count(result, BigDecimal.valueOf(1000)));
+        assertEquals(1L, count(result, BigDecimal.valueOf(250)));
+        assertEquals(1, result.inStockCount());
+    }
+
+    @Test
+    void filter_ShouldReturnNewestFirstAndContinueBeforeCursor() {
+        ProductFacetIndex.Result first = facetIndex.filter(Set.of(), null, null, false, null, 2);
+        ProductFacetIndex.Result second = facetIndex.filter(Set.of(), null, null, false, 4L, 2);
+
+        assertEquals(5, first.total());
+        assertEquals(List.of(5L, 4L), first.productIds());
+        assertEquals(List.of(3L, 2L), second.productIds());
+    }
+
+    @Test
+    void stockAndProductEvents_ShouldUpdateBitsetsInPlace() {
+        facetIndex.onStockChanged(new ProductStockChangedEvent(Map.of(2L, 4, 5L, -7)));
+        facetIndex.onProductChanged(ProductChangedEvent.deleted(1L));
+
+        ProductFacetIndex.Result result = facetIndex.filter(Set.of(LAPTOPS), null, null, true, null, 10);
+
+        assertEquals(List.of(4L, 2L), result.productIds());
+        assertEquals(Map.of(LAPTOPS, 2L, GAMING, 1L), result.categoryCounts());
+    }
+
+    @Test
+    void onProductsUpdated_ShouldReloadPriceAndCategories() {
+        when(productRepository.findCategoryFactsByIds(List.of(3L))).thenReturn(List.of(
+            new ProductCategoryFactsView(3L, BigDecimal.valueOf(700), 2, LAPTOPS)));
+
+        facetIndex.onProductsUpdated(new ProductsUpdatedEvent(List.of(3L)));
+
+        ProductFacetIndex.Result result = facetIndex.filter(Set.of(LAPTOPS),
+            BigDecimal.valueOf(500), BigDecimal.valueOf(1000), true, null, 10);
+        assertEquals(List.of(5L, 3L), result.productIds());
+        assertEquals(List.of(1L), facetIndex.filter(Set.of(GAMING), null, null, false, null, 10).productIds());
+    }
+
+    private static long count(ProductFacetIndex.Result result, BigDecimal from) {
+        return result.priceBuckets().stream()
+            .filter(bucket -> bucket.getFrom().compareTo(from) == 0)
+            .mapToLong(PriceBucketCount::getCount)
+            .findFirst()
+            .orElseThrow();
+    }
+}